@@ -0,0 +1,64 @@
+package com.airxelerate.flightboard.benchmark;
+
+import com.airxelerate.flightboard.model.Flight;
+import com.airxelerate.flightboard.security.jwt.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared inputs for the JMH benchmarks, built to resemble production data.
+ */
+public final class BenchmarkFixtures {
+
+    /** Same key length as the default {@code jwt.secret}. */
+    public static final String JWT_SECRET =
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970"
+                    + "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    public static final long JWT_EXPIRATION_MILLIS = 86_400_000L;
+
+    private static final String[] CARRIERS = { "AA", "AF", "BA", "DL", "LH", "UA" };
+    private static final String[] AIRPORTS = { "CDG", "FRA", "JFK", "LAX", "LHR", "ORD", "SFO" };
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtUtil jwtUtil(long verifiedCacheSize) {
+        return new JwtUtil(JWT_SECRET, JWT_EXPIRATION_MILLIS, verifiedCacheSize, new SimpleMeterRegistry());
+    }
+
+    public static UserDetails user(String username) {
+        return User.withUsername(username)
+                .password("")
+                .authorities(new SimpleGrantedAuthority("ROLE_USER"))
+                .build();
+    }
+
+    public static List<Flight> flights(int count) {
+        List<Flight> flights = new ArrayList<>(count);
+        LocalDate firstDate = LocalDate.of(2025, 1, 1);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 12, 1, 8, 30);
+
+        for (int i = 0; i < count; i++) {
+            String origin = AIRPORTS[i % AIRPORTS.length];
+            String destination = AIRPORTS[(i + 1) % AIRPORTS.length];
+            flights.add(Flight.builder()
+                    .id((long) i + 1)
+                    .carrierCode(CARRIERS[i % CARRIERS.length])
+                    .flightNumber(String.format("%04d", i % 10_000))
+                    .flightDate(firstDate.plusDays(i / 10_000))
+                    .origin(origin)
+                    .destination(destination)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        return flights;
+    }
+}
@@ -0,0 +1,69 @@
+package com.airxelerate.flightboard.benchmark;
+
+import com.airxelerate.flightboard.config.AppConfig;
+import com.airxelerate.flightboard.dto.response.ApiResponse;
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a list response with the application's {@link ObjectMapper}
+ * configuration. Output goes to a discarding stream so only encoding cost is measured,
+ * not buffer growth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int flights;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<FlightResponse>> response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new AppConfig().objectMapper();
+        writer = objectMapper.writer();
+
+        List<FlightResponse> content = BenchmarkFixtures.flights(flights).stream()
+                .map(flight -> FlightResponse.builder()
+                        .id(flight.getId())
+                        .carrierCode(flight.getCarrierCode())
+                        .flightNumber(flight.getFlightNumber())
+                        .flightDate(flight.getFlightDate())
+                        .origin(flight.getOrigin())
+                        .destination(flight.getDestination())
+                        .createdAt(flight.getCreatedAt())
+                        .updatedAt(flight.getUpdatedAt())
+                        .build())
+                .toList();
+        response = ApiResponse.success(content, "Flights retrieved successfully");
+        response.setTimestamp(LocalDateTime.of(2025, 1, 15, 10, 30));
+    }
+
+    @Benchmark
+    public void serialize() throws Exception {
+        writer.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
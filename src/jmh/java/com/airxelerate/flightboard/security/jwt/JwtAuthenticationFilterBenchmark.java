@@ -0,0 +1,81 @@
+package com.airxelerate.flightboard.security.jwt;
+
+import com.airxelerate.flightboard.benchmark.BenchmarkFixtures;
+import com.airxelerate.flightboard.service.CachedUserDetailsService;
+import com.airxelerate.flightboard.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full {@link JwtAuthenticationFilter#doFilterInternal} path for an authenticated
+ * request in steady state: cached token verification, blacklist lookup, cached identity
+ * and security context population. The user store is stubbed, so no database is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(100_000);
+        UserDetails user = BenchmarkFixtures.user("user");
+
+        CustomUserDetailsService stubStore = new CustomUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        };
+        CachedUserDetailsService userDetailsService = new CachedUserDetailsService(
+                stubStore, new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(5));
+        TokenBlacklistService blacklist = new TokenBlacklistService(
+                jwtUtil, Optional.empty(), 10_000, BenchmarkFixtures.JWT_EXPIRATION_MILLIS,
+                60, true, 4_194_304, 7, new SimpleMeterRegistry());
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, blacklist);
+        request = new MockHttpServletRequest("GET", "/api/v1/flights");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(user));
+        chain = (req, res) -> { };
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(request, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,97 @@
+package com.airxelerate.flightboard.security.jwt;
+
+import com.airxelerate.flightboard.benchmark.BenchmarkFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blacklist lookups at different revocation set sizes, for a revoked token and for a
+ * live one (the common case), with and without the Bloom filter in front.
+ * <p>
+ * Revocations are seeded directly with token-sized random strings: lookups never
+ * verify signatures, so real JWTs would only slow down setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBlacklistBenchmark {
+
+    private static final int TOKEN_LENGTH = 180;
+    private static final int PROBES = 1024;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int revokedTokens;
+
+    @Param({ "true", "false" })
+    public boolean bloomFilter;
+
+    private TokenBlacklistService blacklist;
+    private String[] revokedProbes;
+    private String[] liveProbes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        blacklist = new TokenBlacklistService(
+                BenchmarkFixtures.jwtUtil(0), Optional.empty(), 10_000,
+                BenchmarkFixtures.JWT_EXPIRATION_MILLIS, 60, bloomFilter, 4_194_304, 7,
+                new SimpleMeterRegistry());
+
+        SplittableRandom random = new SplittableRandom(42);
+        long expiresAt = Instant.now().getEpochSecond() + 3600;
+        revokedProbes = new String[PROBES];
+        for (int i = 0; i < revokedTokens; i++) {
+            String token = randomToken(random);
+            blacklist.add(new TokenBlacklistService.Revocation(
+                    TokenDigest.of(token), expiresAt, TokenBloomFilter.hash(token)));
+            if (i < PROBES) {
+                revokedProbes[i] = token;
+            }
+        }
+        for (int i = revokedTokens; i < PROBES; i++) {
+            revokedProbes[i] = revokedProbes[i % revokedTokens];
+        }
+
+        liveProbes = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            liveProbes[i] = randomToken(random);
+        }
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return blacklist.isTokenBlacklisted(revokedProbes[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean liveToken() {
+        return blacklist.isTokenBlacklisted(liveProbes[next++ & (PROBES - 1)]);
+    }
+
+    private static String randomToken(SplittableRandom random) {
+        char[] chars = new char[TOKEN_LENGTH];
+        for (int i = 0; i < chars.length; i++) {
+            int c = random.nextInt(64);
+            chars[i] = (char) (c < 26 ? 'A' + c : c < 52 ? 'a' + c - 26 : c < 62 ? '0' + c - 52 : c == 62 ? '-' : '_');
+        }
+        return new String(chars);
+    }
+}
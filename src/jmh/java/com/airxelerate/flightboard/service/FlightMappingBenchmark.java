@@ -0,0 +1,44 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.benchmark.BenchmarkFixtures;
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.model.Flight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping, paid once per flight on every read endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightMappingBenchmark {
+
+    private FlightService flightService;
+    private Flight flight;
+
+    @Setup
+    public void setUp() {
+        // mapToResponse touches none of the collaborators
+        flightService = new FlightService(null, null, null, null, null, null, null, null, null);
+        flight = BenchmarkFixtures.flights(1).getFirst();
+    }
+
+    @Benchmark
+    public FlightResponse mapToResponse() {
+        return flightService.mapToResponse(flight);
+    }
+}
@@ -0,0 +1,86 @@
+package com.airxelerate.flightboard.config;
+
+import com.airxelerate.flightboard.model.Flight;
+import com.airxelerate.flightboard.model.User;
+import com.airxelerate.flightboard.repository.FlightRepository;
+import com.airxelerate.flightboard.repository.UserRepository;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache regions, held in-process by Caffeine. Every
+ * region is created here with an explicit bound; Hibernate is configured to fail on
+ * startup rather than silently create an unbounded region for anything missing.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Hibernate's own cache manager, never the provider's default one. Anything else in
+     * the JVM asking for the default URI (a JCache-backed Spring cache, another library)
+     * would otherwise get these regions, collide with them on {@code createCache} and
+     * lose them when this context closes the manager.
+     */
+    private static final URI CACHE_MANAGER_URI = URI.create("flightboard:hibernate");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${flightboard.cache.flights.max-size:100000}") long flightsMaxSize,
+            @Value("${flightboard.cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${flightboard.cache.queries.max-size:100000}") long queriesMaxSize,
+            @Value("${flightboard.cache.ttl:10m}") Duration ttl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(CACHE_MANAGER_URI, getClass().getClassLoader());
+
+        createRegion(cacheManager, Flight.CACHE_REGION, OptionalLong.of(flightsMaxSize), ttl);
+        createRegion(cacheManager, User.CACHE_REGION, OptionalLong.of(usersMaxSize), ttl);
+        createRegion(cacheManager, FlightRepository.QUERY_CACHE_REGION, OptionalLong.of(queriesMaxSize), ttl);
+        createRegion(cacheManager, UserRepository.QUERY_CACHE_REGION, OptionalLong.of(usersMaxSize), ttl);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.of(queriesMaxSize), ttl);
+        // One entry per table; evicting one would make cached query results look fresh
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.empty(), null);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    /**
+     * Publishes hits, misses, puts and evictions per region as {@code cache.*} metrics,
+     * next to Hibernate's own {@code hibernate.second.level.cache.*} statistics.
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name)));
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, OptionalLong maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize);
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,78 @@
+package com.airxelerate.flightboard.config;
+
+import com.airxelerate.flightboard.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica support, active only when {@code flightboard.datasource.replica.url} is set.
+ * Replaces the auto-configured pool with a primary pool ({@code spring.datasource.*}), a
+ * replica pool ({@code flightboard.datasource.replica.*}) and a routing data source in
+ * front of both; without a replica everything keeps using the single auto-configured pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "flightboard.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("flightboard.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${flightboard.datasource.replica.url}") String url,
+            @Value("${flightboard.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${flightboard.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            HikariDataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${flightboard.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow,
+            @Value("${flightboard.datasource.replica.health-check-interval:5s}") Duration healthCheckInterval,
+            @Value("${flightboard.datasource.replica.validation-timeout:2s}") Duration validationTimeout) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                readYourWritesWindow, healthCheckInterval, validationTimeout, meterRegistry);
+    }
+
+    /**
+     * The data source JPA and JDBC use. Connections are taken lazily, on the first
+     * statement, by which time the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
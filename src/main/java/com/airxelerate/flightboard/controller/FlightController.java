@@ -3,16 +3,37 @@ package com.airxelerate.flightboard.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.airxelerate.flightboard.dto.request.BulkDeleteRequest;
 import com.airxelerate.flightboard.dto.request.FlightRequest;
+import com.airxelerate.flightboard.dto.request.FlightSearchRequest;
 import com.airxelerate.flightboard.dto.response.ApiResponse;
+import com.airxelerate.flightboard.dto.response.BulkDeleteResponse;
+import com.airxelerate.flightboard.dto.response.BulkFlightResponse;
+import com.airxelerate.flightboard.dto.response.FlightKeyResponse;
+import com.airxelerate.flightboard.dto.response.FlightPageResponse;
 import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.dto.response.FlightStatisticsResponse;
+import com.airxelerate.flightboard.dto.response.ImportStatusResponse;
+import com.airxelerate.flightboard.service.FlightBoardSnapshotService;
+import com.airxelerate.flightboard.service.FlightFeedService;
 import com.airxelerate.flightboard.service.FlightService;
+import com.airxelerate.flightboard.service.FlightStatisticsService;
+import com.airxelerate.flightboard.service.FlightVersionService;
+import com.airxelerate.flightboard.service.ScheduleImportService;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -22,6 +43,11 @@ import java.util.List;
 public class FlightController {
 
     private final FlightService flightService;
+    private final FlightFeedService flightFeedService;
+    private final FlightVersionService flightVersionService;
+    private final FlightBoardSnapshotService flightBoardSnapshotService;
+    private final ScheduleImportService scheduleImportService;
+    private final FlightStatisticsService flightStatisticsService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -34,22 +60,166 @@ public class FlightController {
                 .body(ApiResponse.success(response, "Flight created successfully"));
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BulkFlightResponse>> createFlights(
+            @RequestBody List<FlightRequest> requests) {
+        BulkFlightResponse response = flightService.createFlights(requests);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(response, "Bulk flight creation processed"));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ImportStatusResponse>> importSchedule(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "csv") String format) {
+        ImportStatusResponse response = scheduleImportService.startImport(file, format);
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/v1/flights/import/" + response.getId())
+                .body(ApiResponse.success(response, "Schedule import started"));
+    }
+
+    @GetMapping("/import/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ImportStatusResponse>> getImportStatus(@PathVariable String id) {
+        ImportStatusResponse response = scheduleImportService.getStatus(id);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(response, "Schedule import status retrieved"));
+    }
+
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BulkDeleteResponse>> deleteFlights(
+            @Valid @RequestBody BulkDeleteRequest request) {
+        BulkDeleteResponse response = flightService.deleteFlights(request);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(response, "Bulk flight deletion processed"));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<ApiResponse<FlightResponse>> getFlightById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<FlightResponse>> getFlightById(@PathVariable Long id, WebRequest request) {
+        String knownTag = flightVersionService.knownFlightTag(id);
+        if (knownTag != null && holdsTag(request, knownTag)) {
+            return notModified(knownTag);
+        }
+
         FlightResponse response = flightService.getFlightById(id);
 
+        return ResponseEntity.ok()
+                .eTag(flightVersionService.flightTag(response))
+                .body(ApiResponse.success(response, "Flight retrieved successfully"));
+    }
+
+    @GetMapping("/{carrierCode:[A-Z]{2}}{flightNumber:\\d{4}}/{flightDate}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<ApiResponse<FlightKeyResponse>> getFlightByKey(
+            @PathVariable String carrierCode,
+            @PathVariable String flightNumber,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate flightDate) {
+        FlightKeyResponse response = flightService.getFlightByKey(carrierCode, flightNumber, flightDate);
+
         return ResponseEntity.ok(
                 ApiResponse.success(response, "Flight retrieved successfully"));
     }
 
+    /**
+     * The unparameterised first page, which polling boards request most, is answered from
+     * the pre-serialized snapshot. Until the first snapshot exists it falls through to the
+     * regular listing.
+     */
+    @GetMapping(params = { "!cursor", "!size" })
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<?> getFlightBoard(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        FlightBoardSnapshotService.Snapshot snapshot = flightBoardSnapshotService.current();
+        if (snapshot == null) {
+            return getFlights(null, null, request);
+        }
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.etag())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<ApiResponse<List<FlightResponse>>> getAllFlights() {
-        List<FlightResponse> responses = flightService.getAllFlights();
+    public ResponseEntity<ApiResponse<FlightPageResponse>> getFlights(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        String latestTag = flightVersionService.listingTag();
+        if (holdsTag(request, latestTag)) {
+            return notModified(latestTag);
+        }
+
+        // Tagged with the version read alongside the page, which may lag behind on a replica
+        FlightService.VersionedPage page = flightService.getFlights(cursor, size);
+
+        return ResponseEntity.ok()
+                .eTag(flightVersionService.listingTag(page.version()))
+                .body(ApiResponse.success(page.page(), "Flights retrieved successfully"));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<ApiResponse<FlightPageResponse>> searchFlights(
+            @Valid @ModelAttribute FlightSearchRequest request,
+            WebRequest webRequest) {
+        String latestTag = flightVersionService.listingTag();
+        if (holdsTag(webRequest, latestTag)) {
+            return notModified(latestTag);
+        }
+
+        FlightService.VersionedPage page = flightService.searchFlights(request);
+
+        return ResponseEntity.ok()
+                .eTag(flightVersionService.listingTag(page.version()))
+                .body(ApiResponse.success(page.page(), "Flights retrieved successfully"));
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<ApiResponse<FlightStatisticsResponse>> getStatistics() {
+        FlightStatisticsResponse response = flightStatisticsService.getStatistics();
 
         return ResponseEntity.ok(
-                ApiResponse.success(responses, "Flights retrieved successfully"));
+                ApiResponse.success(response, "Flight statistics retrieved successfully"));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<StreamingResponseBody> exportFlights() {
+        StreamingResponseBody body = flightService::exportFlights;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public SseEmitter streamFlights(
+            @RequestParam(required = false) String origin,
+            @RequestParam(required = false) String destination,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        return flightFeedService.subscribe(origin, destination, lastEventId);
     }
 
     @DeleteMapping("/{id}")
@@ -60,4 +230,26 @@ public class FlightController {
         return ResponseEntity.ok(
                 ApiResponse.success(null, "Flight deleted successfully"));
     }
+
+    /**
+     * Whether {@code If-None-Match} already names {@code tag}. Unlike
+     * {@link WebRequest#checkNotModified(String)} this leaves the response untouched when it
+     * does not, so the body that follows can carry the tag of the version it was read at.
+     */
+    private static boolean holdsTag(WebRequest request, String tag) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String value : ifNoneMatch) {
+            if (value.equals("*") || value.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String tag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+    }
 }
@@ -1,6 +1,8 @@
 package com.airxelerate.flightboard.controller;
 
 import com.airxelerate.flightboard.dto.request.RegisterRequest;
+import com.airxelerate.flightboard.dto.request.UpdateRoleRequest;
+import com.airxelerate.flightboard.dto.request.UpdateUserStatusRequest;
 import com.airxelerate.flightboard.dto.response.ApiResponse;
 import com.airxelerate.flightboard.dto.response.UserResponse;
 import com.airxelerate.flightboard.service.UserService;
@@ -62,6 +64,28 @@ public class UserController {
                 ApiResponse.success(response, "User retrieved successfully"));
     }
 
+    @PatchMapping("/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserResponse>> updateUserRole(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateRoleRequest request) {
+        UserResponse response = userService.updateUserRole(id, request.getRole());
+
+        return ResponseEntity.ok(
+                ApiResponse.success(response, "User role updated successfully"));
+    }
+
+    @PatchMapping("/{id}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserResponse>> updateUserStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateUserStatusRequest request) {
+        UserResponse response = userService.updateUserStatus(id, request.getEnabled());
+
+        return ResponseEntity.ok(
+                ApiResponse.success(response, "User status updated successfully"));
+    }
+
     @GetMapping("/me")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser() {
@@ -0,0 +1,259 @@
+package com.airxelerate.flightboard.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions ({@code @Transactional(readOnly = true)}) to a replica
+ * and everything else to the primary. Reads still go to the primary when:
+ * <ul>
+ *   <li>the current user committed a write within the read-your-writes window, so they
+ *       see their own changes despite replication lag;</li>
+ *   <li>the replica failed its last health check or refused a connection;</li>
+ *   <li>the caller asked for it with {@link #onPrimary(Supplier)}.</li>
+ * </ul>
+ * Sessions reading from the replica do not write to the shared Hibernate caches.
+ * <p>
+ * The decision is made when the physical connection is taken, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction's read-only flag is only known after the transaction manager has begun.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Cache<String, Boolean> recentWriters;
+    private final int validationTimeoutSeconds;
+
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean replicaHealthy = true;
+
+    private final Counter nonTransactional;
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter recentWriteReads;
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            Duration readYourWritesWindow,
+            Duration healthCheckInterval,
+            Duration validationTimeout,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+
+        Gauge.builder("flightboard.datasource.replica.healthy", this, r -> r.replicaHealthy ? 1 : 0)
+                .description("Whether read-only transactions are currently sent to the replica")
+                .register(meterRegistry);
+        this.nonTransactional = routed(meterRegistry, "primary", "no_transaction");
+        this.writes = routed(meterRegistry, "primary", "write");
+        this.replicaReads = routed(meterRegistry, "replica", "read");
+        this.recentWriteReads = routed(meterRegistry, "primary", "recent_write");
+        this.pinnedReads = routed(meterRegistry, "primary", "pinned");
+        this.fallbackReads = routed(meterRegistry, "primary", "replica_down");
+
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplica, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs {@code action} with every transaction it starts reading from the primary, for
+     * reads whose result is shared or kept (snapshots, caches) and must not lag behind writes.
+     * Has no effect when no replica is configured.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PINNED_TO_PRIMARY.remove();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!routeToReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaReads.increment();
+            stopCachePuts();
+            return connection;
+        } catch (SQLException e) {
+            markReplicaDown(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Credentials are configured per pool
+        return getConnection();
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    private boolean routeToReplica() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Schema setup, pool defaults and statements outside @Transactional
+            nonTransactional.increment();
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriter();
+            writes.increment();
+            return false;
+        }
+        if (PINNED_TO_PRIMARY.get() != null) {
+            pinnedReads.increment();
+            return false;
+        }
+        if (!replicaHealthy) {
+            fallbackReads.increment();
+            return false;
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            recentWriteReads.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Opens the current user's read-your-writes window once the transaction commits, so
+     * the window is measured from the point the replica can start catching up.
+     */
+    private void rememberWriter() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Lets the transaction's Hibernate session read the second-level and query caches but
+     * not fill them. Those caches are shared by every user, and a lagging replica could
+     * otherwise put back an entity the primary has just deleted or changed, to be served
+     * until its TTL runs out. The session's previous mode is restored on completion, since
+     * with open-in-view the same session serves later transactions of the request.
+     */
+    private static void stopCachePuts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                Session session = holder.getEntityManager().unwrap(Session.class);
+                CacheMode previous = session.getCacheMode();
+                if (previous == CacheMode.GET || previous == CacheMode.IGNORE) {
+                    continue;
+                }
+                session.setCacheMode(CacheMode.GET);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (session.isOpen()) {
+                            session.setCacheMode(previous);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    void checkReplica() {
+        boolean healthy;
+        try (Connection connection = replica.getConnection()) {
+            healthy = connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            healthy = false;
+        }
+        if (healthy != replicaHealthy) {
+            replicaHealthy = healthy;
+            if (healthy) {
+                log.info("Replica is healthy again, read-only transactions return to it");
+            } else {
+                log.warn("Replica failed its health check, read-only transactions fall back to the primary");
+            }
+        }
+    }
+
+    private void markReplicaDown(SQLException e) {
+        if (replicaHealthy) {
+            replicaHealthy = false;
+            log.warn("Replica refused a connection, read-only transactions fall back to the primary: {}", e.getMessage());
+        }
+        fallbackReads.increment();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("flightboard.datasource.routing")
+                .description("Connections taken, by target pool and routing reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+    }
+}
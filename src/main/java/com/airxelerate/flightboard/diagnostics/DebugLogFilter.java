@@ -0,0 +1,305 @@
+package com.airxelerate.flightboard.diagnostics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Turns on DEBUG/TRACE output at runtime for one user or request id, limited to chosen
+ * logger prefixes (e.g. {@code org.hibernate.SQL}, {@code org.springframework.security})
+ * and to a number of events per second, without lowering any logger level. Rules are
+ * managed on {@code /actuator/debuglog} and expire on their own.
+ * <p>
+ * Registered as a logback turbo filter, so it is consulted before every disabled
+ * debug statement; with no rules that costs one volatile read. Selection is by the
+ * {@code requestId} and {@code user} MDC keys set by {@link RequestIdFilter} and the JWT
+ * filter, so work done off the request thread is not matched.
+ */
+@Component
+@Endpoint(id = "debuglog")
+@Slf4j
+public class DebugLogFilter extends TurboFilter {
+
+    private final int maxRules;
+    private final int defaultRate;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final AtomicLong ids = new AtomicLong();
+
+    // Copy-on-write: the hot path only ever reads the array reference
+    private volatile Rule[] rules = new Rule[0];
+
+    private LoggerContext loggerContext;
+
+    public DebugLogFilter(
+            @Value("${flightboard.logging.debug.max-rules:20}") int maxRules,
+            @Value("${flightboard.logging.debug.default-rate:20}") int defaultRate,
+            @Value("${flightboard.logging.debug.default-ttl:10m}") Duration defaultTtl,
+            @Value("${flightboard.logging.debug.max-ttl:1h}") Duration maxTtl) {
+        this.maxRules = maxRules;
+        this.defaultRate = defaultRate;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        setName("debug-log-filter");
+    }
+
+    @PostConstruct
+    void register() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            log.warn("Logging backend is not logback, runtime debug logging is unavailable");
+            return;
+        }
+        loggerContext = context;
+        setContext(context);
+        start();
+        context.addTurboFilter(this);
+    }
+
+    @PreDestroy
+    void unregister() {
+        if (loggerContext != null) {
+            loggerContext.getTurboFilterList().remove(this);
+        }
+        stop();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        Rule[] active = rules;
+        if (active.length == 0 || level.levelInt > Level.DEBUG_INT
+                || logger.getEffectiveLevel().levelInt <= level.levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+
+        String user = MDC.get(RequestIdFilter.USER);
+        String requestId = MDC.get(RequestIdFilter.REQUEST_ID);
+        if (user == null && requestId == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long now = System.nanoTime();
+        for (Rule rule : active) {
+            if (rule.matches(logger.getName(), level, user, requestId, now)) {
+                // A null format is an isDebugEnabled() guard: answer it without spending a permit
+                if (format == null || rule.tryAcquire(now)) {
+                    return FilterReply.ACCEPT;
+                }
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> rules() {
+        long now = System.nanoTime();
+        return Arrays.stream(rules)
+                .filter(rule -> !rule.expired(now))
+                .map(Rule::describe)
+                .toList();
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> addRule(
+            @OptionalParameter String user,
+            @OptionalParameter String requestId,
+            @OptionalParameter String categories,
+            @OptionalParameter String level,
+            @OptionalParameter Integer ratePerSecond,
+            @OptionalParameter Duration ttl) {
+        if (isBlank(user) && isBlank(requestId)) {
+            throw new InvalidEndpointRequestException(
+                    "A user or a requestId is required", "Missing user and requestId");
+        }
+
+        Level ruleLevel = level == null ? Level.DEBUG : Level.toLevel(level, null);
+        if (ruleLevel != Level.DEBUG && ruleLevel != Level.TRACE) {
+            throw new InvalidEndpointRequestException("Level must be DEBUG or TRACE", "Invalid level");
+        }
+        int rate = ratePerSecond == null ? defaultRate : ratePerSecond;
+        if (rate < 1) {
+            throw new InvalidEndpointRequestException("ratePerSecond must be at least 1", "Invalid rate");
+        }
+        Duration lifetime = ttl == null ? defaultTtl : ttl;
+        if (lifetime.isNegative() || lifetime.isZero() || lifetime.compareTo(maxTtl) > 0) {
+            throw new InvalidEndpointRequestException("ttl must be positive and at most " + maxTtl, "Invalid ttl");
+        }
+
+        List<Rule> next = live();
+        if (next.size() >= maxRules) {
+            throw new InvalidEndpointRequestException(
+                    "At most " + maxRules + " debug logging rules can be active", "Too many rules");
+        }
+
+        String[] prefixes = isBlank(categories) ? new String[0] : Arrays.stream(categories.split(","))
+                .map(String::strip)
+                .filter(prefix -> !prefix.isEmpty())
+                .toArray(String[]::new);
+        Rule rule = new Rule(ids.incrementAndGet(), blankToNull(user), blankToNull(requestId), prefixes,
+                ruleLevel, rate, System.nanoTime() + lifetime.toNanos(), Instant.now().plus(lifetime));
+        next.add(rule);
+        rules = next.toArray(Rule[]::new);
+
+        log.info("Debug logging enabled for user={} requestId={} categories={} level={} at {}/s for {}",
+                rule.user, rule.requestId, categories, ruleLevel, rate, lifetime);
+        return rule.describe();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> removeRule(@Selector long id) {
+        List<Rule> next = live();
+        Rule removed = next.stream().filter(rule -> rule.id == id).findFirst().orElse(null);
+        if (removed == null) {
+            return null;
+        }
+        next.remove(removed);
+        rules = next.toArray(Rule[]::new);
+        log.info("Debug logging rule {} removed", id);
+        return removed.describe();
+    }
+
+    /**
+     * Expired rules already stop matching; dropping them restores the empty-array fast path.
+     */
+    @Scheduled(fixedDelayString = "${flightboard.logging.debug.prune-interval:30s}")
+    public synchronized void pruneExpired() {
+        List<Rule> next = live();
+        if (next.size() != rules.length) {
+            rules = next.toArray(Rule[]::new);
+        }
+    }
+
+    private List<Rule> live() {
+        long now = System.nanoTime();
+        List<Rule> live = new ArrayList<>(rules.length + 1);
+        for (Rule rule : rules) {
+            if (!rule.expired(now)) {
+                live.add(rule);
+            }
+        }
+        return live;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String blankToNull(String value) {
+        return isBlank(value) ? null : value.strip();
+    }
+
+    private static final class Rule {
+
+        private final long id;
+        private final String user;
+        private final String requestId;
+        private final String[] categories;
+        private final Level level;
+        private final int ratePerSecond;
+        private final long expiresAtNanos;
+        private final Instant expiresAt;
+
+        // Fixed one-second window: second (low 32 bits) in the high word, events used in the low word
+        private final AtomicLong window = new AtomicLong();
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private Rule(long id, String user, String requestId, String[] categories, Level level,
+                int ratePerSecond, long expiresAtNanos, Instant expiresAt) {
+            this.id = id;
+            this.user = user;
+            this.requestId = requestId;
+            this.categories = categories;
+            this.level = level;
+            this.ratePerSecond = ratePerSecond;
+            this.expiresAtNanos = expiresAtNanos;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean expired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+
+        boolean matches(String loggerName, Level eventLevel, String currentUser, String currentRequestId, long now) {
+            if (eventLevel.levelInt < level.levelInt || expired(now)) {
+                return false;
+            }
+            if (user != null && !user.equals(currentUser)) {
+                return false;
+            }
+            if (requestId != null && !requestId.equals(currentRequestId)) {
+                return false;
+            }
+            if (categories.length == 0) {
+                return true;
+            }
+            for (String category : categories) {
+                if (loggerName.startsWith(category)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean tryAcquire(long now) {
+            long second = Math.floorDiv(now, 1_000_000_000L) & 0xFFFFFFFFL;
+            while (true) {
+                long state = window.get();
+                long next;
+                if (state >>> 32 != second) {
+                    next = second << 32 | 1;
+                } else if ((int) state >= ratePerSecond) {
+                    dropped.increment();
+                    return false;
+                } else {
+                    next = state + 1;
+                }
+                if (window.compareAndSet(state, next)) {
+                    accepted.increment();
+                    return true;
+                }
+            }
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("id", id);
+            description.put("user", user);
+            description.put("requestId", requestId);
+            description.put("categories", List.of(categories));
+            description.put("level", level.toString());
+            description.put("ratePerSecond", ratePerSecond);
+            description.put("expiresAt", expiresAt.toString());
+            description.put("accepted", accepted.sum());
+            description.put("dropped", dropped.sum());
+            return description;
+        }
+    }
+}
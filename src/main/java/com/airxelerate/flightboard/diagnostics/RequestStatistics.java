@@ -0,0 +1,33 @@
+package com.airxelerate.flightboard.diagnostics;
+
+/**
+ * Hibernate activity attributed to the request being handled on the current thread.
+ * Bound by {@link RequestStatisticsFilter} and filled in by
+ * {@link RequestStatisticsSessionListener} and {@link RequestStatisticsIntegrator}.
+ * Work on other threads, such as streamed export bodies, is not attributed.
+ */
+final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    long statements;
+    long statementNanos;
+    long connectionAcquisitions;
+    long connectionAcquisitionNanos;
+    long flushes;
+    long entitiesLoaded;
+
+    static RequestStatistics bind() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+}
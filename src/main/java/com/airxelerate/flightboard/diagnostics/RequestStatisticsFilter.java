@@ -0,0 +1,90 @@
+package com.airxelerate.flightboard.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the Hibernate work done for each request, tagged with the controller method
+ * that handled it: statements executed and their JDBC time, connection pool wait,
+ * flushes and entities loaded. Ordered ahead of the security filter chain so identity
+ * lookups made while authenticating are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        RequestStatistics statistics = RequestStatistics.bind();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.unbind();
+            meters.computeIfAbsent(HandlerObservationConvention.handlerName(request), this::register)
+                    .record(statistics);
+        }
+    }
+
+    private HandlerMeters register(String handler) {
+        return new HandlerMeters(
+                DistributionSummary.builder("flightboard.hibernate.statements")
+                        .description("JDBC statements and batches executed per request")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                Timer.builder("flightboard.hibernate.statement.time")
+                        .description("Time spent executing JDBC statements per request")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                Timer.builder("flightboard.hibernate.connection.acquire")
+                        .description("Time spent waiting for pooled connections per request")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                DistributionSummary.builder("flightboard.hibernate.flushes")
+                        .description("Session flushes per request")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                DistributionSummary.builder("flightboard.hibernate.entities.loaded")
+                        .description("Entities loaded per request")
+                        .tag("handler", handler)
+                        .register(meterRegistry));
+    }
+
+    private record HandlerMeters(
+            DistributionSummary statements,
+            Timer statementTime,
+            Timer connectionAcquire,
+            DistributionSummary flushes,
+            DistributionSummary entitiesLoaded) {
+
+        void record(RequestStatistics statistics) {
+            statements.record(statistics.statements);
+            statementTime.record(statistics.statementNanos, TimeUnit.NANOSECONDS);
+            connectionAcquire.record(statistics.connectionAcquisitionNanos, TimeUnit.NANOSECONDS);
+            flushes.record(statistics.flushes);
+            entitiesLoaded.record(statistics.entitiesLoaded);
+        }
+    }
+}
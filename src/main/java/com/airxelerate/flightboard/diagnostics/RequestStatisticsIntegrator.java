@@ -0,0 +1,36 @@
+package com.airxelerate.flightboard.diagnostics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+
+/**
+ * Counts entity loads into the current {@link RequestStatistics}. Discovered by Hibernate
+ * through {@code META-INF/services/org.hibernate.integrator.spi.Integrator}.
+ */
+public class RequestStatisticsIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+            SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new EntityLoadCounter());
+    }
+
+    private static final class EntityLoadCounter implements PostLoadEventListener {
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            RequestStatistics statistics = RequestStatistics.current();
+            if (statistics != null) {
+                statistics.entitiesLoaded++;
+            }
+        }
+    }
+}
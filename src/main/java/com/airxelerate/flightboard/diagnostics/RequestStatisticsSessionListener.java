@@ -0,0 +1,65 @@
+package com.airxelerate.flightboard.diagnostics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Per-session Hibernate listener, registered through {@code hibernate.session.events.auto},
+ * that adds statement execution, connection acquisition and flush counts to the current
+ * {@link RequestStatistics}. Hibernate creates one instance per session, so the start
+ * timestamps need no synchronisation.
+ */
+public class RequestStatisticsSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long acquisitionStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.connectionAcquisitions++;
+            statistics.connectionAcquisitionNanos += System.nanoTime() - acquisitionStart;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statementEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statementEnd();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.flushes++;
+        }
+    }
+
+    private void statementEnd() {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.statementNanos += System.nanoTime() - statementStart;
+        }
+    }
+}
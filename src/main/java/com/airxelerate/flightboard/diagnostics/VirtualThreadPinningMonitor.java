@@ -0,0 +1,135 @@
+package com.airxelerate.flightboard.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the JFR {@code jdk.VirtualThreadPinned} event in-process and reports every
+ * site where a virtual thread blocked while pinned to its carrier, whatever the cause
+ * (native frames, class initialisation, or monitors on JDKs before 24). Each distinct
+ * site is logged once with its stack, counted, and listed on {@code /actuator/pinning}.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "flightboard.diagnostics.pinning.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_SITES = 1000;
+
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Timer pinnedTime;
+    private final Counter pinnedEvents;
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+    private volatile boolean running;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${flightboard.diagnostics.pinning.threshold:20ms}") Duration threshold,
+            @Value("${flightboard.diagnostics.pinning.stack-depth:12}") int stackDepth) {
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+        this.pinnedTime = Timer.builder("flightboard.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to a carrier thread")
+                .register(meterRegistry);
+        this.pinnedEvents = Counter.builder("flightboard.virtual.pinned.events")
+                .description("Pinned virtual thread events above the reporting threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        running = true;
+        log.info("Virtual thread pinning monitor started, reporting pins longer than {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @ReadOperation
+    public Map<String, Object> pinning() {
+        Map<String, Long> sites = pinnedBySite.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum(),
+                        (a, b) -> a, LinkedHashMap::new));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threshold", threshold.toString());
+        report.put("events", (long) pinnedEvents.count());
+        report.put("totalPinnedMillis", pinnedTime.totalTime(TimeUnit.MILLISECONDS));
+        report.put("sites", sites);
+        return report;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.increment();
+        pinnedTime.record(event.getDuration());
+
+        String site = describe(event.getStackTrace());
+        LongAdder count = pinnedBySite.get(site);
+        if (count == null) {
+            if (pinnedBySite.size() >= MAX_SITES) {
+                return;
+            }
+            count = pinnedBySite.computeIfAbsent(site, key -> {
+                log.warn("Virtual thread pinned for {} ms at a new site:\n\tat {}",
+                        event.getDuration().toMillis(), key);
+                return new LongAdder();
+            });
+        }
+        count.increment();
+    }
+
+    private String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(stackDepth)
+                .map(this::describe)
+                .collect(Collectors.joining("\n\tat "));
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(" + (frame.isJavaFrame() ? "line " + frame.getLineNumber() : "native") + ")";
+    }
+}
@@ -0,0 +1,31 @@
+package com.airxelerate.flightboard.dto.request;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Either a list of flight ids, or criteria bounded by date: a {@code from}/{@code to}
+ * range (inclusive) or everything departing {@code before} a date, optionally limited
+ * to one carrier.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequest {
+
+    private List<Long> ids;
+
+    @Pattern(regexp = "^[A-Z]{2}$", message = "Carrier code must be 2 uppercase letters (IATA code)")
+    private String carrierCode;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private LocalDate before;
+}
@@ -0,0 +1,37 @@
+package com.airxelerate.flightboard.dto.request;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightSearchRequest {
+
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Origin must be 3 uppercase letters (IATA airport code)")
+    private String origin;
+
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Destination must be 3 uppercase letters (IATA airport code)")
+    private String destination;
+
+    @Pattern(regexp = "^[A-Z]{2}$", message = "Carrier code must be 2 uppercase letters (IATA code)")
+    private String carrierCode;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private String cursor;
+
+    /** Search departed flights moved to the archive instead of the live table. */
+    private Boolean archived;
+
+    private Integer size;
+}
@@ -0,0 +1,16 @@
+package com.airxelerate.flightboard.dto.request;
+
+import com.airxelerate.flightboard.model.Role;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateRoleRequest {
+
+    @NotNull(message = "Role is required")
+    private Role role;
+}
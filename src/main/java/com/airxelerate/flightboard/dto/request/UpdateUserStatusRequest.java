@@ -0,0 +1,15 @@
+package com.airxelerate.flightboard.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateUserStatusRequest {
+
+    @NotNull(message = "Enabled flag is required")
+    private Boolean enabled;
+}
@@ -0,0 +1,22 @@
+package com.airxelerate.flightboard.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteResponse {
+
+    private int deleted;
+
+    private int chunks;
+
+    private long elapsedMillis;
+
+    /** Requested ids that did not exist; only set when deleting by id. */
+    private List<Long> notFound;
+}
@@ -0,0 +1,27 @@
+package com.airxelerate.flightboard.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkFlightResponse {
+
+    private int received;
+
+    private int created;
+
+    private int duplicates;
+
+    private int rejected;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+
+    private List<BulkFlightResult> results;
+}
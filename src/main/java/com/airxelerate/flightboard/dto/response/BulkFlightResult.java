@@ -0,0 +1,25 @@
+package com.airxelerate.flightboard.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkFlightResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    private int index;
+
+    private Status status;
+
+    private Long id;
+
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.airxelerate.flightboard.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightKeyResponse {
+
+    private Long id;
+
+    private String carrierCode;
+
+    private String flightNumber;
+
+    private LocalDate flightDate;
+}
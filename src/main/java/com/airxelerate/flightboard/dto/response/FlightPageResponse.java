@@ -0,0 +1,21 @@
+package com.airxelerate.flightboard.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightPageResponse {
+
+    private List<FlightResponse> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+}
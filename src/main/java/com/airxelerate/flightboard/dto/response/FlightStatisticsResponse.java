@@ -0,0 +1,27 @@
+package com.airxelerate.flightboard.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightStatisticsResponse {
+
+    private long total;
+
+    private Map<String, Long> byCarrier;
+
+    /** Keyed by {@code ORIGIN-DESTINATION}, e.g. {@code JFK-LAX}. */
+    private Map<String, Long> byRoute;
+
+    private Map<LocalDate, Long> byDate;
+
+    /** When the counters were last rebuilt from the database. */
+    private Instant reconciledAt;
+}
@@ -0,0 +1,15 @@
+package com.airxelerate.flightboard.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRejection {
+
+    private long line;
+
+    private String message;
+}
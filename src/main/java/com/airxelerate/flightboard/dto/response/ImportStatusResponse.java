@@ -0,0 +1,48 @@
+package com.airxelerate.flightboard.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportStatusResponse {
+
+    private String id;
+
+    private String status;
+
+    private String fileName;
+
+    private String format;
+
+    private long bytes;
+
+    /** Share of the file parsed and inserted, 0 to 1. */
+    private double progress;
+
+    private long lines;
+
+    private long created;
+
+    private long duplicates;
+
+    private long rejected;
+
+    private long elapsedMillis;
+
+    private double linesPerSecond;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String error;
+
+    /** Duplicate and invalid lines with their reason, up to the configured limit. */
+    private List<ImportRejection> rejections;
+}
@@ -0,0 +1,12 @@
+package com.airxelerate.flightboard.event;
+
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+
+import java.util.List;
+
+/**
+ * Published by {@link com.airxelerate.flightboard.service.FlightService} for every
+ * transaction that inserts flights. Listeners should react after commit.
+ */
+public record FlightsCreatedEvent(List<FlightResponse> flights) {
+}
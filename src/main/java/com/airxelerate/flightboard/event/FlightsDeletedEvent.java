@@ -0,0 +1,14 @@
+package com.airxelerate.flightboard.event;
+
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+
+import java.util.List;
+
+/**
+ * Published for every transaction that removes flights from the live table, whether
+ * deleted by {@link com.airxelerate.flightboard.service.FlightService} or moved to the
+ * archive by {@link com.airxelerate.flightboard.service.FlightArchiveService}, carrying
+ * the state of the rows as they were removed.
+ */
+public record FlightsDeletedEvent(List<FlightResponse> flights) {
+}
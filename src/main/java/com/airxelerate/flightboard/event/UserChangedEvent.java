@@ -0,0 +1,8 @@
+package com.airxelerate.flightboard.event;
+
+/**
+ * Published by {@link com.airxelerate.flightboard.service.UserService} whenever a
+ * user's role or enabled flag changes, so cached identities can be dropped after commit.
+ */
+public record UserChangedEvent(String username) {
+}
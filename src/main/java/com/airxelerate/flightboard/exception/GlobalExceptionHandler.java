@@ -2,9 +2,11 @@ package com.airxelerate.flightboard.exception;
 
 import com.airxelerate.flightboard.dto.response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -35,6 +37,55 @@ public class GlobalExceptionHandler {
                                 .body(ApiResponse.error(ex.getMessage()));
         }
 
+        @ExceptionHandler(InvalidCursorException.class)
+        public ResponseEntity<ApiResponse<Void>> handleInvalidCursorException(
+                        InvalidCursorException ex) {
+                return ResponseEntity
+                                .status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.error(ex.getMessage()));
+        }
+
+        @ExceptionHandler(BulkRequestTooLargeException.class)
+        public ResponseEntity<ApiResponse<Void>> handleBulkRequestTooLargeException(
+                        BulkRequestTooLargeException ex) {
+                return ResponseEntity
+                                .status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.error(ex.getMessage()));
+        }
+
+        @ExceptionHandler(InvalidDeleteCriteriaException.class)
+        public ResponseEntity<ApiResponse<Void>> handleInvalidDeleteCriteriaException(
+                        InvalidDeleteCriteriaException ex) {
+                return ResponseEntity
+                                .status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.error(ex.getMessage()));
+        }
+
+        @ExceptionHandler(InvalidScheduleFileException.class)
+        public ResponseEntity<ApiResponse<Void>> handleInvalidScheduleFileException(
+                        InvalidScheduleFileException ex) {
+                return ResponseEntity
+                                .status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.error(ex.getMessage()));
+        }
+
+        @ExceptionHandler(ImportJobNotFoundException.class)
+        public ResponseEntity<ApiResponse<Void>> handleImportJobNotFoundException(
+                        ImportJobNotFoundException ex) {
+                return ResponseEntity
+                                .status(HttpStatus.NOT_FOUND)
+                                .body(ApiResponse.error(ex.getMessage()));
+        }
+
+        @ExceptionHandler(HashingCapacityExceededException.class)
+        public ResponseEntity<ApiResponse<Void>> handleHashingCapacityExceededException(
+                        HashingCapacityExceededException ex) {
+                return ResponseEntity
+                                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                                .body(ApiResponse.error(ex.getMessage()));
+        }
+
         @ExceptionHandler(BadCredentialsException.class)
         public ResponseEntity<ApiResponse<Void>> handleBadCredentialsException(
                         BadCredentialsException ex) {
@@ -51,6 +102,22 @@ public class GlobalExceptionHandler {
                                 .body(ApiResponse.error("Invalid username or password"));
         }
 
+        @ExceptionHandler(DisabledException.class)
+        public ResponseEntity<ApiResponse<Void>> handleDisabledException(
+                        DisabledException ex) {
+                return ResponseEntity
+                                .status(HttpStatus.UNAUTHORIZED)
+                                .body(ApiResponse.error("User account is disabled"));
+        }
+
+        @ExceptionHandler(UserNotFoundException.class)
+        public ResponseEntity<ApiResponse<Void>> handleUserNotFoundException(
+                        UserNotFoundException ex) {
+                return ResponseEntity
+                                .status(HttpStatus.NOT_FOUND)
+                                .body(ApiResponse.error(ex.getMessage()));
+        }
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
                         MethodArgumentNotValidException ex) {
@@ -0,0 +1,7 @@
+package com.airxelerate.flightboard.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
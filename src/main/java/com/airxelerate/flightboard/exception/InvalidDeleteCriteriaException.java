@@ -0,0 +1,7 @@
+package com.airxelerate.flightboard.exception;
+
+public class InvalidDeleteCriteriaException extends RuntimeException {
+    public InvalidDeleteCriteriaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.airxelerate.flightboard.exception;
+
+public class InvalidScheduleFileException extends RuntimeException {
+    public InvalidScheduleFileException(String message) {
+        super(message);
+    }
+}
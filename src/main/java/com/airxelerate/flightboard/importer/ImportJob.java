@@ -0,0 +1,123 @@
+package com.airxelerate.flightboard.importer;
+
+import com.airxelerate.flightboard.dto.response.ImportRejection;
+import com.airxelerate.flightboard.dto.response.ImportStatusResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one schedule import. Written by the import thread only, read by any number
+ * of status requests. Only the first {@code maxRejectionsReported} rejected lines are
+ * kept with their message; the rest are counted.
+ */
+public class ImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final String fileName;
+    private final ScheduleFormat format;
+    private final long bytes;
+    private final int maxRejectionsReported;
+
+    private final AtomicLong bytesProcessed = new AtomicLong();
+    private final AtomicLong lines = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<ImportRejection> rejections = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ImportJob(String id, String fileName, ScheduleFormat format, long bytes, int maxRejectionsReported) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+        this.bytes = bytes;
+        this.maxRejectionsReported = maxRejectionsReported;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ScheduleFormat getFormat() {
+        return format;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        error = message;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    void chunkDone(long chunkBytes, int chunkLines, int chunkCreated) {
+        bytesProcessed.addAndGet(chunkBytes);
+        lines.addAndGet(chunkLines);
+        created.addAndGet(chunkCreated);
+    }
+
+    void rejected(long line, String message) {
+        rejected.incrementAndGet();
+        report(line, message);
+    }
+
+    void duplicate(long line, String message) {
+        duplicates.incrementAndGet();
+        report(line, message);
+    }
+
+    private synchronized void report(long line, String message) {
+        if (rejections.size() < maxRejectionsReported) {
+            rejections.add(new ImportRejection(line, message));
+        }
+    }
+
+    public synchronized ImportStatusResponse toResponse() {
+        Instant started = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long elapsedMillis = started != null ? Duration.between(started, end).toMillis() : 0;
+        long processedLines = lines.get();
+
+        return ImportStatusResponse.builder()
+                .id(id)
+                .status(status.name())
+                .fileName(fileName)
+                .format(format.name())
+                .bytes(bytes)
+                .progress(bytes > 0 ? Math.min(1d, bytesProcessed.get() / (double) bytes) : 1d)
+                .lines(processedLines)
+                .created(created.get())
+                .duplicates(duplicates.get())
+                .rejected(rejected.get())
+                .elapsedMillis(elapsedMillis)
+                .linesPerSecond(elapsedMillis > 0 ? processedLines * 1000d / elapsedMillis : 0)
+                .startedAt(started)
+                .finishedAt(finishedAt)
+                .error(error)
+                .rejections(List.copyOf(rejections))
+                .build();
+    }
+}
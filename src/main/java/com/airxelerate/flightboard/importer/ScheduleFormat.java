@@ -0,0 +1,35 @@
+package com.airxelerate.flightboard.importer;
+
+import java.util.Locale;
+
+/**
+ * Layouts accepted by the schedule importer. One flight per line, lines end with
+ * {@code \n} or {@code \r\n}; blank lines and lines starting with {@code #} are skipped.
+ */
+public enum ScheduleFormat {
+
+    /**
+     * {@code carrierCode,flightNumber,flightDate,origin,destination} with an ISO date,
+     * e.g. {@code AA,1234,2025-01-20,JFK,LAX}. A first line starting with
+     * {@code carrier} is treated as a header.
+     */
+    CSV,
+
+    /**
+     * Fixed columns in the spirit of SSIM: carrier code in 1-2, flight number in 3-6,
+     * date as {@code YYYYMMDD} in 7-14, origin in 15-17 and destination in 18-20, e.g.
+     * {@code AA123420250120JFKLAX}. Anything after column 20 is ignored.
+     */
+    FIXED;
+
+    public static ScheduleFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
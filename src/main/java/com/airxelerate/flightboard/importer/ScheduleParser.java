@@ -0,0 +1,320 @@
+package com.airxelerate.flightboard.importer;
+
+import com.airxelerate.flightboard.model.Flight;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Parses and validates schedule records straight from a region of a memory-mapped file.
+ * Fields are checked byte by byte against the same rules as {@code FlightRequest}, and
+ * codes are resolved to shared {@link String} instances from lookup tables, so a valid
+ * line costs one {@link Flight} and one {@link LocalDate} and no per-field strings.
+ * <p>
+ * Thread-safe: every call works on its own buffer slice.
+ */
+public final class ScheduleParser {
+
+    private static final String CARRIER_REQUIRED = "Carrier code is required";
+    private static final String CARRIER_INVALID = "Carrier code must be 2 uppercase letters (IATA code)";
+    private static final String NUMBER_REQUIRED = "Flight number is required";
+    private static final String NUMBER_INVALID = "Flight number must be exactly 4 digits";
+    private static final String DATE_REQUIRED = "Flight date is required";
+    private static final String DATE_INVALID = "Flight date must be a valid date";
+    private static final String ORIGIN_REQUIRED = "Origin airport is required";
+    private static final String ORIGIN_INVALID = "Origin must be 3 uppercase letters (IATA airport code)";
+    private static final String DESTINATION_REQUIRED = "Destination airport is required";
+    private static final String DESTINATION_INVALID = "Destination must be 3 uppercase letters (IATA airport code)";
+
+    private static final int FIXED_WIDTH = 20;
+
+    // Racy but safe: strings are immutable, so a thread either sees a complete one or builds its own
+    private static final String[] CARRIERS = new String[26 * 26];
+    private static final String[] AIRPORTS = new String[26 * 26 * 26];
+    private static final String[] FLIGHT_NUMBERS = new String[10_000];
+
+    private ScheduleParser() {
+    }
+
+    /**
+     * @param region     whole lines of the file; position 0 is the start of a line
+     * @param format     the file layout
+     * @param firstChunk whether the region starts at the beginning of the file (header detection)
+     */
+    public static ParsedChunk parse(ByteBuffer region, ScheduleFormat format, boolean firstChunk) {
+        List<ParsedFlight> flights = new ArrayList<>();
+        List<Rejection> rejections = new ArrayList<>();
+        Violations violations = new Violations();
+        int[] fieldBounds = new int[10];
+
+        int limit = region.limit();
+        int line = 0;
+        int start = 0;
+        while (start < limit) {
+            int end = start;
+            while (end < limit && region.get(end) != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            if (end > start && region.get(end - 1) == '\r') {
+                end--;
+            }
+            line++;
+
+            if (end > start && region.get(start) != '#'
+                    && !(firstChunk && line == 1 && format == ScheduleFormat.CSV && isHeader(region, start, end))) {
+                violations.clear();
+                Flight flight = format == ScheduleFormat.CSV
+                        ? parseCsv(region, start, end, fieldBounds, violations)
+                        : parseFixed(region, start, end, violations);
+                if (flight != null) {
+                    flights.add(new ParsedFlight(line, flight));
+                } else {
+                    rejections.add(new Rejection(line, violations.toString()));
+                }
+            }
+            start = next;
+        }
+
+        return new ParsedChunk(line, flights, rejections);
+    }
+
+    private static Flight parseFixed(ByteBuffer buf, int start, int end, Violations violations) {
+        if (end - start < FIXED_WIDTH) {
+            violations.add("Record must be at least " + FIXED_WIDTH + " characters, was " + (end - start));
+            return null;
+        }
+        String carrier = carrier(buf, start, start + 2, violations);
+        String number = flightNumber(buf, start + 2, start + 6, violations);
+        LocalDate date = compactDate(buf, start + 6, start + 14, violations);
+        String origin = airport(buf, start + 14, start + 17, ORIGIN_REQUIRED, ORIGIN_INVALID, violations);
+        String destination = airport(buf, start + 17, start + 20, DESTINATION_REQUIRED, DESTINATION_INVALID, violations);
+        return violations.isEmpty() ? flight(carrier, number, date, origin, destination) : null;
+    }
+
+    private static Flight parseCsv(ByteBuffer buf, int start, int end, int[] bounds, Violations violations) {
+        int field = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buf.get(i) == ',') {
+                if (field == 5) {
+                    violations.add("Record must have 5 comma-separated fields");
+                    return null;
+                }
+                int from = fieldStart;
+                int to = i;
+                while (from < to && buf.get(from) == ' ') {
+                    from++;
+                }
+                while (to > from && buf.get(to - 1) == ' ') {
+                    to--;
+                }
+                bounds[field * 2] = from;
+                bounds[field * 2 + 1] = to;
+                field++;
+                fieldStart = i + 1;
+            }
+        }
+        if (field != 5) {
+            violations.add("Record must have 5 comma-separated fields");
+            return null;
+        }
+
+        String carrier = carrier(buf, bounds[0], bounds[1], violations);
+        String number = flightNumber(buf, bounds[2], bounds[3], violations);
+        LocalDate date = isoDate(buf, bounds[4], bounds[5], violations);
+        String origin = airport(buf, bounds[6], bounds[7], ORIGIN_REQUIRED, ORIGIN_INVALID, violations);
+        String destination = airport(buf, bounds[8], bounds[9], DESTINATION_REQUIRED, DESTINATION_INVALID, violations);
+        return violations.isEmpty() ? flight(carrier, number, date, origin, destination) : null;
+    }
+
+    private static String carrier(ByteBuffer buf, int from, int to, Violations violations) {
+        if (isBlank(buf, from, to)) {
+            violations.add(CARRIER_REQUIRED);
+            return null;
+        }
+        if (to - from != 2 || !isUpper(buf.get(from)) || !isUpper(buf.get(from + 1))) {
+            violations.add(CARRIER_INVALID);
+            return null;
+        }
+        int code = (buf.get(from) - 'A') * 26 + (buf.get(from + 1) - 'A');
+        String carrier = CARRIERS[code];
+        if (carrier == null) {
+            carrier = new String(new char[] { (char) buf.get(from), (char) buf.get(from + 1) });
+            CARRIERS[code] = carrier;
+        }
+        return carrier;
+    }
+
+    private static String airport(ByteBuffer buf, int from, int to, String required, String invalid,
+                                  Violations violations) {
+        if (isBlank(buf, from, to)) {
+            violations.add(required);
+            return null;
+        }
+        if (to - from != 3 || !isUpper(buf.get(from)) || !isUpper(buf.get(from + 1)) || !isUpper(buf.get(from + 2))) {
+            violations.add(invalid);
+            return null;
+        }
+        int code = ((buf.get(from) - 'A') * 26 + (buf.get(from + 1) - 'A')) * 26 + (buf.get(from + 2) - 'A');
+        String airport = AIRPORTS[code];
+        if (airport == null) {
+            airport = new String(new char[] { (char) buf.get(from), (char) buf.get(from + 1), (char) buf.get(from + 2) });
+            AIRPORTS[code] = airport;
+        }
+        return airport;
+    }
+
+    private static String flightNumber(ByteBuffer buf, int from, int to, Violations violations) {
+        if (isBlank(buf, from, to)) {
+            violations.add(NUMBER_REQUIRED);
+            return null;
+        }
+        int number = to - from == 4 ? digits(buf, from, to) : -1;
+        if (number < 0) {
+            violations.add(NUMBER_INVALID);
+            return null;
+        }
+        String flightNumber = FLIGHT_NUMBERS[number];
+        if (flightNumber == null) {
+            flightNumber = String.format("%04d", number);
+            FLIGHT_NUMBERS[number] = flightNumber;
+        }
+        return flightNumber;
+    }
+
+    /** {@code YYYY-MM-DD} */
+    private static LocalDate isoDate(ByteBuffer buf, int from, int to, Violations violations) {
+        if (isBlank(buf, from, to)) {
+            violations.add(DATE_REQUIRED);
+            return null;
+        }
+        if (to - from != 10 || buf.get(from + 4) != '-' || buf.get(from + 7) != '-') {
+            violations.add(DATE_INVALID);
+            return null;
+        }
+        return date(digits(buf, from, from + 4), digits(buf, from + 5, from + 7), digits(buf, from + 8, from + 10),
+                violations);
+    }
+
+    /** {@code YYYYMMDD} */
+    private static LocalDate compactDate(ByteBuffer buf, int from, int to, Violations violations) {
+        if (isBlank(buf, from, to)) {
+            violations.add(DATE_REQUIRED);
+            return null;
+        }
+        return date(digits(buf, from, from + 4), digits(buf, from + 4, from + 6), digits(buf, from + 6, to),
+                violations);
+    }
+
+    private static LocalDate date(int year, int month, int day, Violations violations) {
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            violations.add(DATE_INVALID);
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * @return the value of an all-digit field, or -1
+     */
+    private static int digits(ByteBuffer buf, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static boolean isBlank(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUpper(byte b) {
+        return b >= 'A' && b <= 'Z';
+    }
+
+    private static boolean isHeader(ByteBuffer buf, int from, int to) {
+        byte[] header = { 'c', 'a', 'r', 'r', 'i', 'e', 'r' };
+        if (to - from < header.length) {
+            return false;
+        }
+        for (int i = 0; i < header.length; i++) {
+            if ((buf.get(from + i) | 0x20) != header[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Flight flight(String carrier, String number, LocalDate date, String origin, String destination) {
+        return Flight.builder()
+                .carrierCode(carrier)
+                .flightNumber(number)
+                .flightDate(date)
+                .origin(origin)
+                .destination(destination)
+                .build();
+    }
+
+    /**
+     * @param lines      lines in the region, including skipped ones, so line numbers can be made absolute
+     * @param flights    valid records in file order
+     * @param rejections invalid records in file order
+     */
+    public record ParsedChunk(int lines, List<ParsedFlight> flights, List<Rejection> rejections) {
+    }
+
+    /**
+     * @param line line number within the chunk, starting at 1
+     */
+    public record ParsedFlight(int line, Flight flight) {
+    }
+
+    /**
+     * @param line    line number within the chunk, starting at 1
+     * @param message every rule the line broke, separated by {@code "; "}
+     */
+    public record Rejection(int line, String message) {
+    }
+
+    /** Reused per chunk; joins messages the way bulk create reports them. */
+    private static final class Violations {
+
+        private final List<String> messages = new ArrayList<>(5);
+
+        void add(String message) {
+            messages.add(message);
+        }
+
+        boolean isEmpty() {
+            return messages.isEmpty();
+        }
+
+        void clear() {
+            messages.clear();
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner joiner = new StringJoiner("; ");
+            messages.stream().sorted().forEach(joiner::add);
+            return joiner.toString();
+        }
+    }
+}
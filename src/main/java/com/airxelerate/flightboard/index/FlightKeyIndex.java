@@ -0,0 +1,168 @@
+package com.airxelerate.flightboard.index;
+
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory map from a flight's natural key to its id. The key is packed losslessly
+ * into a single {@code long}:
+ * <pre>
+ *  bits 63..24  flight date as signed epoch day (40 bits)
+ *  bits 23..10  flight number 0000-9999 (14 bits)
+ *  bits  9..0   carrier code, each letter as 1-26 in base 27 (never 0)
+ * </pre>
+ * Loaded from the database before the web server starts and kept in sync from
+ * committed flight events. Until loading succeeds {@link #isReady()} is false and
+ * callers must fall back to the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightKeyIndex implements SmartInitializingSingleton {
+
+    public static final long NOT_FOUND = LongLongHashMap.NO_VALUE;
+
+    private final FlightJdbcRepository flightJdbcRepository;
+
+    private final LongLongHashMap ids = new LongLongHashMap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        try {
+            flightJdbcRepository.forEachKey((id, carrierCode, flightNumber, flightDate) ->
+                    put(pack(carrierCode, flightNumber, flightDate), id));
+            ready = true;
+
+            int size = size();
+            log.info("Flight key index loaded {} flights in {} ms: {} bytes, {} bytes/entry",
+                    size, (System.nanoTime() - start) / 1_000_000, memoryBytes(), String.format("%.1f", bytesPerEntry()));
+        } catch (RuntimeException e) {
+            log.error("Flight key index could not be loaded, natural-key lookups will use the database", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the flight id, or {@link #NOT_FOUND}
+     */
+    public long find(String carrierCode, String flightNumber, LocalDate flightDate) {
+        long key = pack(carrierCode, flightNumber, flightDate);
+        lock.readLock().lock();
+        try {
+            return ids.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String carrierCode, String flightNumber, LocalDate flightDate) {
+        return find(carrierCode, flightNumber, flightDate) != NOT_FOUND;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return ids.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Current heap cost per indexed flight: 16 bytes of key and value divided by the
+     * table load, so between about 53 bytes just after a resize and 26.7 bytes just before one.
+     */
+    public double bytesPerEntry() {
+        lock.readLock().lock();
+        try {
+            return ids.size() == 0 ? 0 : ids.memoryBytes() / (double) ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsCreated(FlightsCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (FlightResponse flight : event.flights()) {
+                ids.put(pack(flight.getCarrierCode(), flight.getFlightNumber(), flight.getFlightDate()), flight.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsDeleted(FlightsDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (FlightResponse flight : event.flights()) {
+                ids.remove(pack(flight.getCarrierCode(), flight.getFlightNumber(), flight.getFlightDate()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(long key, long id) {
+        lock.writeLock().lock();
+        try {
+            ids.put(key, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static long pack(String carrierCode, String flightNumber, LocalDate flightDate) {
+        if (carrierCode == null || carrierCode.length() != 2 || flightNumber == null
+                || flightNumber.length() != 4 || flightDate == null) {
+            throw new IllegalArgumentException("Invalid flight key");
+        }
+
+        long carrier = letter(carrierCode.charAt(0)) * 27L + letter(carrierCode.charAt(1));
+        long number = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = flightNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid flight number: " + flightNumber);
+            }
+            number = number * 10 + (c - '0');
+        }
+
+        return (flightDate.toEpochDay() << 24) | (number << 10) | carrier;
+    }
+
+    private static int letter(char c) {
+        if (c < 'A' || c > 'Z') {
+            throw new IllegalArgumentException("Invalid carrier code letter: " + c);
+        }
+        return c - 'A' + 1;
+    }
+}
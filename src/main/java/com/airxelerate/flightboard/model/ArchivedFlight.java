@@ -0,0 +1,51 @@
+package com.airxelerate.flightboard.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A departed flight moved out of {@code flights} by the archival job. Keeps the id it had
+ * in the hot table; rows are only ever written by the job, never through JPA.
+ */
+@Entity
+@Table(name = "flights_archive", indexes = {
+        @Index(name = "idx_flights_archive_keyset", columnList = "flight_date, carrier_code, flight_number, id"),
+        @Index(name = "idx_flights_archive_carrier_date", columnList = "carrier_code, flight_date, flight_number")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedFlight implements FlightData {
+
+    @Id
+    private Long id;
+
+    @Column(name = "carrier_code", nullable = false, length = 2)
+    private String carrierCode;
+
+    @Column(name = "flight_number", nullable = false, length = 4)
+    private String flightNumber;
+
+    @Column(name = "flight_date", nullable = false)
+    private LocalDate flightDate;
+
+    @Column(name = "origin", nullable = false, length = 3)
+    private String origin;
+
+    @Column(name = "destination", nullable = false, length = 3)
+    private String destination;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
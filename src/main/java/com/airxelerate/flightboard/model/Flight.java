@@ -4,19 +4,32 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "flights", uniqueConstraints = @UniqueConstraint(columnNames = { "carrier_code", "flight_number",
-        "flight_date" }))
+        "flight_date" }), indexes = {
+                // Every index ends with the keyset order so filtered pages need no filesort
+                @Index(name = "idx_flights_keyset", columnList = "flight_date, carrier_code, flight_number, id"),
+                @Index(name = "idx_flights_origin_date", columnList = "origin, flight_date, carrier_code, flight_number"),
+                @Index(name = "idx_flights_destination_date", columnList = "destination, flight_date, carrier_code, flight_number"),
+                @Index(name = "idx_flights_route_date", columnList = "origin, destination, flight_date, carrier_code, flight_number"),
+                @Index(name = "idx_flights_carrier_date", columnList = "carrier_code, flight_date, flight_number")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Flight {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Flight.CACHE_REGION)
+public class Flight implements FlightData {
+
+    public static final String CACHE_REGION = "flights";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
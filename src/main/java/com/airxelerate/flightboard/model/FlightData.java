@@ -0,0 +1,27 @@
+package com.airxelerate.flightboard.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The columns shared by live and archived flights, so both map to responses and
+ * cursors through the same code.
+ */
+public interface FlightData {
+
+    Long getId();
+
+    String getCarrierCode();
+
+    String getFlightNumber();
+
+    LocalDate getFlightDate();
+
+    String getOrigin();
+
+    String getDestination();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
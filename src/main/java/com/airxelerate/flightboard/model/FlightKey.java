@@ -0,0 +1,15 @@
+package com.airxelerate.flightboard.model;
+
+import java.time.LocalDate;
+
+/**
+ * Natural key of a flight, backed by the unique constraint on
+ * (carrier_code, flight_number, flight_date).
+ */
+public record FlightKey(String carrierCode, String flightNumber, LocalDate flightDate) {
+
+    @Override
+    public String toString() {
+        return carrierCode + flightNumber + " on " + flightDate;
+    }
+}
@@ -0,0 +1,27 @@
+package com.airxelerate.flightboard.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A single row counting committed changes to {@code flights}. Every transaction that
+ * creates or deletes flights increments it just before committing, so a read that takes
+ * the version and a page from the same snapshot knows exactly which writes the page
+ * contains, on the primary and on a replica alike. Only written through JDBC.
+ */
+@Entity
+@Table(name = "flight_table_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightTableVersion {
+
+    public static final long ROW_ID = 1;
+
+    @Id
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
@@ -0,0 +1,14 @@
+package com.airxelerate.flightboard.repository;
+
+import com.airxelerate.flightboard.model.ArchivedFlight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read access to archived flights. Kept apart from {@link FlightRepository} so the
+ * archive is only ever queried when a caller asks for it.
+ */
+@Repository
+public interface ArchivedFlightRepository extends JpaRepository<ArchivedFlight, Long>, JpaSpecificationExecutor<ArchivedFlight> {
+}
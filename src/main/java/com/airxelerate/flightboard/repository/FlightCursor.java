@@ -0,0 +1,51 @@
+package com.airxelerate.flightboard.repository;
+
+import com.airxelerate.flightboard.exception.InvalidCursorException;
+import com.airxelerate.flightboard.model.FlightData;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (flight_date, carrier_code, flight_number, id) ordering.
+ * Clients only ever see the opaque token produced by {@link #encode()}.
+ */
+public record FlightCursor(LocalDate flightDate, String carrierCode, String flightNumber, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static FlightCursor of(FlightData flight) {
+        return new FlightCursor(
+                flight.getFlightDate(),
+                flight.getCarrierCode(),
+                flight.getFlightNumber(),
+                flight.getId());
+    }
+
+    public String encode() {
+        String raw = flightDate.toString() + SEPARATOR + carrierCode + SEPARATOR + flightNumber + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static FlightCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new InvalidCursorException("Invalid pagination cursor");
+            }
+            return new FlightCursor(
+                    LocalDate.parse(parts[0]),
+                    parts[1],
+                    parts[2],
+                    Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+}
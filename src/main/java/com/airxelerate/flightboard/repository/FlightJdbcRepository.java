@@ -0,0 +1,370 @@
+package com.airxelerate.flightboard.repository;
+
+import com.airxelerate.flightboard.model.Flight;
+import com.airxelerate.flightboard.model.FlightKey;
+import com.airxelerate.flightboard.model.FlightTableVersion;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based flight operations that bypass the persistence context. Flight ids are
+ * IDENTITY-generated, which prevents Hibernate from batching inserts, so bulk writes
+ * go through plain JDBC batches instead.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FlightJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO flights (carrier_code, flight_number, flight_date, origin, destination, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ARCHIVE_SQL =
+            "INSERT INTO flights_archive (id, carrier_code, flight_number, flight_date, origin, destination, "
+                    + "created_at, updated_at, archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String LOCK_SQL =
+            "SELECT id, carrier_code, flight_number, flight_date, origin, destination, created_at, updated_at "
+                    + "FROM flights WHERE ";
+
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${flightboard.bulk.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Inserts the flights in JDBC batches and populates their generated ids and timestamps.
+     */
+    public void insertAll(List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < flights.size(); from += batchSize) {
+                    List<Flight> chunk = flights.subList(from, Math.min(from + batchSize, flights.size()));
+
+                    for (Flight flight : chunk) {
+                        flight.setCreatedAt(now);
+                        flight.setUpdatedAt(now);
+                        ps.setString(1, flight.getCarrierCode());
+                        ps.setString(2, flight.getFlightNumber());
+                        ps.setObject(3, flight.getFlightDate());
+                        ps.setString(4, flight.getOrigin());
+                        ps.setString(5, flight.getDestination());
+                        ps.setObject(6, now);
+                        ps.setObject(7, now);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next() && i < chunk.size()) {
+                            chunk.get(i++).setId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        evictFromCache(List.of());
+    }
+
+    /**
+     * Locks and returns the flights with the given ids; ids that do not exist are skipped.
+     * The flights are plain objects, not managed by any persistence context.
+     */
+    public List<Flight> lockByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = LOCK_SQL + "id IN (" + placeholders(ids.size()) + ") FOR UPDATE";
+        return jdbcTemplate.query(sql, FlightJdbcRepository::toFlight, ids.toArray());
+    }
+
+    /**
+     * Returns, in keyset order, the positions of up to {@code limit} flights after
+     * {@code after} (from the start when {@code null}) departing between {@code from} and
+     * {@code to} inclusive, optionally of one carrier. Any of the criteria may be {@code null}.
+     * <p>
+     * This is a plain consistent read and takes no locks: callers lock the returned ids with
+     * {@link #lockByIds(Collection)}, which locks exactly those primary-key records. A
+     * locking read here would lock every row the scan examines, and the gaps between them,
+     * before LIMIT applies. Walking the {@code idx_flights_keyset} order lets the scan
+     * stop after {@code limit} rows.
+     */
+    public List<FlightCursor> findMatchingPositions(
+            String carrierCode, LocalDate from, LocalDate to, FlightCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT flight_date, carrier_code, flight_number, id FROM flights WHERE 1 = 1");
+        List<Object> args = new ArrayList<>(8);
+        if (from != null) {
+            sql.append(" AND flight_date >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND flight_date <= ?");
+            args.add(to);
+        }
+        if (carrierCode != null) {
+            sql.append(" AND carrier_code = ?");
+            args.add(carrierCode);
+        }
+        if (after != null) {
+            sql.append(" AND (flight_date, carrier_code, flight_number, id) > (?, ?, ?, ?)");
+            args.add(after.flightDate());
+            args.add(after.carrierCode());
+            args.add(after.flightNumber());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY flight_date, carrier_code, flight_number, id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new FlightCursor(
+                rs.getObject(1, LocalDate.class),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getLong(4)), args.toArray());
+    }
+
+    /**
+     * Deletes the given flights with one statement and drops them from the second-level cache.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM flights WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+
+        evictFromCache(ids);
+        return deleted;
+    }
+
+    /**
+     * Copies the flights into {@code flights_archive} in JDBC batches, keeping their ids.
+     * Removing them from {@code flights} is left to {@link #deleteByIds(Collection)} in the
+     * same transaction.
+     */
+    public void archiveAll(List<Flight> flights, LocalDateTime archivedAt) {
+        jdbcTemplate.batchUpdate(ARCHIVE_SQL, flights, batchSize, (ps, flight) -> {
+            ps.setLong(1, flight.getId());
+            ps.setString(2, flight.getCarrierCode());
+            ps.setString(3, flight.getFlightNumber());
+            ps.setObject(4, flight.getFlightDate());
+            ps.setString(5, flight.getOrigin());
+            ps.setString(6, flight.getDestination());
+            ps.setObject(7, flight.getCreatedAt());
+            ps.setObject(8, flight.getUpdatedAt());
+            ps.setObject(9, archivedAt);
+        });
+    }
+
+    /**
+     * Hibernate cannot see these writes, so the affected entities and cached natural-key
+     * lookups (including cached "not found" results) are dropped now and again once the
+     * transaction has completed, so no read running in between can re-cache a pre-commit answer.
+     */
+    private void evictFromCache(Collection<Long> flightIds) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        Runnable evict = () -> {
+            flightIds.forEach(id -> cache.evictEntityData(Flight.class, id));
+            cache.evictQueryRegion(FlightRepository.QUERY_CACHE_REGION);
+        };
+        evict.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs {@code action} while holding the MySQL named lock {@code name}, if no other
+     * session holds it. The lock belongs to the connection kept open for the duration, so
+     * it is released on return and also if this instance dies mid-run.
+     *
+     * @return {@code false}, without running {@code action}, when the lock is held elsewhere
+     */
+    public boolean runExclusively(String name, Runnable action) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement acquire = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                acquire.setString(1, name);
+                try (ResultSet rs = acquire.executeQuery()) {
+                    if (!rs.next() || rs.getInt(1) != 1) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                action.run();
+                return true;
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, name);
+                    release.execute();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Streams the id and natural key of every flight without materialising entities.
+     */
+    public void forEachKey(FlightKeyHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT id, carrier_code, flight_number, flight_date FROM flights");
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.accept(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getObject(4, LocalDate.class)));
+    }
+
+    /**
+     * Increments the version of the flights table in the current transaction and returns
+     * the new value. The row stays locked until the transaction ends, so call this as
+     * late as possible.
+     */
+    public long incrementTableVersion() {
+        jdbcTemplate.update("INSERT INTO flight_table_version (id, version) VALUES (?, 1) "
+                + "ON DUPLICATE KEY UPDATE version = version + 1", FlightTableVersion.ROW_ID);
+        return findTableVersion();
+    }
+
+    /**
+     * @return the version of the flights table as seen by the current transaction, 0 before the first write
+     */
+    public long findTableVersion() {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flight_table_version WHERE id = ?", Long.class, FlightTableVersion.ROW_ID);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * Counts flights per carrier, per route and per departure date with one grouped scan
+     * each. Run all three in one transaction for a consistent view.
+     */
+    public FlightCounts countFlights() {
+        Map<String, Long> byCarrier = new HashMap<>();
+        jdbcTemplate.query("SELECT carrier_code, COUNT(*) FROM flights GROUP BY carrier_code",
+                (RowCallbackHandler) rs -> byCarrier.put(rs.getString(1), rs.getLong(2)));
+
+        Map<String, Long> byRoute = new HashMap<>();
+        jdbcTemplate.query("SELECT origin, destination, COUNT(*) FROM flights GROUP BY origin, destination",
+                (RowCallbackHandler) rs -> byRoute.put(FlightCounts.route(rs.getString(1), rs.getString(2)), rs.getLong(3)));
+
+        Map<LocalDate, Long> byDate = new HashMap<>();
+        jdbcTemplate.query("SELECT flight_date, COUNT(*) FROM flights GROUP BY flight_date",
+                (RowCallbackHandler) rs -> byDate.put(rs.getObject(1, LocalDate.class), rs.getLong(2)));
+
+        return new FlightCounts(byCarrier, byRoute, byDate);
+    }
+
+    /**
+     * Returns which of the given natural keys already exist, using one row-constructor
+     * IN query per batch so every lookup is a range probe on the unique index.
+     */
+    public Set<FlightKey> findExistingKeys(Collection<FlightKey> keys) {
+        Set<FlightKey> existing = new HashSet<>();
+        List<FlightKey> all = new ArrayList<>(keys);
+
+        for (int from = 0; from < all.size(); from += batchSize) {
+            List<FlightKey> chunk = all.subList(from, Math.min(from + batchSize, all.size()));
+
+            StringBuilder sql = new StringBuilder(
+                    "SELECT carrier_code, flight_number, flight_date FROM flights "
+                            + "WHERE (carrier_code, flight_number, flight_date) IN (");
+            Object[] args = new Object[chunk.size() * 3];
+            for (int i = 0; i < chunk.size(); i++) {
+                FlightKey key = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+                args[i * 3] = key.carrierCode();
+                args[i * 3 + 1] = key.flightNumber();
+                args[i * 3 + 2] = key.flightDate();
+            }
+            sql.append(')');
+
+            jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+                existing.add(new FlightKey(
+                        rs.getString(1),
+                        rs.getString(2),
+                        rs.getObject(3, LocalDate.class)));
+            }, args);
+        }
+
+        return existing;
+    }
+
+    private static Flight toFlight(ResultSet rs, int rowNum) throws SQLException {
+        return Flight.builder()
+                .id(rs.getLong(1))
+                .carrierCode(rs.getString(2))
+                .flightNumber(rs.getString(3))
+                .flightDate(rs.getObject(4, LocalDate.class))
+                .origin(rs.getString(5))
+                .destination(rs.getString(6))
+                .createdAt(rs.getObject(7, LocalDateTime.class))
+                .updatedAt(rs.getObject(8, LocalDateTime.class))
+                .build();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * @param byRoute keyed by {@link #route(String, String)}
+     */
+    public record FlightCounts(Map<String, Long> byCarrier, Map<String, Long> byRoute, Map<LocalDate, Long> byDate) {
+
+        public static String route(String origin, String destination) {
+            return origin + "-" + destination;
+        }
+    }
+
+    @FunctionalInterface
+    public interface FlightKeyHandler {
+        void accept(long id, String carrierCode, String flightNumber, LocalDate flightDate);
+    }
+}
@@ -1,17 +1,27 @@
 package com.airxelerate.flightboard.repository;
 
 import com.airxelerate.flightboard.model.Flight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, JpaSpecificationExecutor<Flight> {
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /** Query cache region for natural-key lookups; evicted by writes that bypass Hibernate. */
+    String QUERY_CACHE_REGION = "flight-queries";
 
     List<Flight> findByCarrierCode(String carrierCode);
 
@@ -21,6 +31,10 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
 
     List<Flight> findByFlightDateBetween(LocalDate startDate, LocalDate endDate);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT f FROM Flight f WHERE " +
             "f.carrierCode = :carrierCode AND " +
             "f.flightNumber = :flightNumber AND " +
@@ -29,4 +43,16 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
             @Param("carrierCode") String carrierCode,
             @Param("flightNumber") String flightNumber,
             @Param("flightDate") LocalDate flightDate);
+
+    /**
+     * Forward-only read of the whole table. Must be consumed inside a transaction
+     * and closed; with useCursorFetch the driver pulls EXPORT_FETCH_SIZE rows per round trip.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT f FROM Flight f ORDER BY f.id")
+    Stream<Flight> streamAll();
 }
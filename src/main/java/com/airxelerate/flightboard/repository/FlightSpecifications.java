@@ -0,0 +1,74 @@
+package com.airxelerate.flightboard.repository;
+
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Filters and keyset positioning by attribute name, shared by {@code Flight} and
+ * {@code ArchivedFlight}, which map the same columns.
+ */
+public final class FlightSpecifications {
+
+    /**
+     * Ordering used by every paginated flight read. It matches the
+     * idx_flights_keyset index so pages are served as index range scans.
+     */
+    public static final Sort KEYSET_ORDER = Sort.by("flightDate", "carrierCode", "flightNumber", "id");
+
+    private FlightSpecifications() {
+    }
+
+    public static <T> Specification<T> hasOrigin(String origin) {
+        return (root, query, cb) -> cb.equal(root.get("origin"), origin);
+    }
+
+    public static <T> Specification<T> hasDestination(String destination) {
+        return (root, query, cb) -> cb.equal(root.get("destination"), destination);
+    }
+
+    public static <T> Specification<T> hasCarrierCode(String carrierCode) {
+        return (root, query, cb) -> cb.equal(root.get("carrierCode"), carrierCode);
+    }
+
+    public static <T> Specification<T> departsOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("flightDate"), from);
+    }
+
+    public static <T> Specification<T> departsOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("flightDate"), to);
+    }
+
+    public static <T> Specification<T> after(FlightCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+
+            Path<LocalDate> flightDate = root.get("flightDate");
+            Path<String> carrierCode = root.get("carrierCode");
+            Path<String> flightNumber = root.get("flightNumber");
+            Path<Long> id = root.get("id");
+
+            // (date, carrier, number, id) > (cursor...) expanded for portability;
+            // the leading >= on flight_date lets MySQL seek straight into the index.
+            return cb.and(
+                    cb.greaterThanOrEqualTo(flightDate, cursor.flightDate()),
+                    cb.or(
+                            cb.greaterThan(flightDate, cursor.flightDate()),
+                            cb.and(
+                                    cb.equal(flightDate, cursor.flightDate()),
+                                    cb.or(
+                                            cb.greaterThan(carrierCode, cursor.carrierCode()),
+                                            cb.and(
+                                                    cb.equal(carrierCode, cursor.carrierCode()),
+                                                    cb.or(
+                                                            cb.greaterThan(flightNumber, cursor.flightNumber()),
+                                                            cb.and(
+                                                                    cb.equal(flightNumber, cursor.flightNumber()),
+                                                                    cb.greaterThan(id, cursor.id()))))))));
+        };
+    }
+}
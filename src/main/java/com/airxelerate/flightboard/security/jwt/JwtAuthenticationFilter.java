@@ -1,21 +1,25 @@
 package com.airxelerate.flightboard.security.jwt;
 
+import com.airxelerate.flightboard.diagnostics.RequestIdFilter;
+import com.airxelerate.flightboard.service.CachedUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -23,7 +27,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CachedUserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
 
     @Override
@@ -34,16 +38,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String jwt = extractJwtFromRequest(request);
+            Optional<VerifiedToken> verified = StringUtils.hasText(jwt) ? jwtUtil.verify(jwt) : Optional.empty();
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
+            if (verified.isPresent()) {
                 if (tokenBlacklistService.isTokenBlacklisted(jwt)) {
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token is blacklisted");
                     return;
                 }
 
-                String username = jwtUtil.extractUsername(jwt);UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                VerifiedToken token = verified.get();
+                UserDetails userDetails = userDetailsService.loadUserByUsername(token.username());
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (token.username().equals(userDetails.getUsername())
+                        && userDetails.isEnabled()
+                        && !token.isExpired(Instant.now())) {
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -53,6 +61,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    MDC.put(RequestIdFilter.USER, userDetails.getUsername());
                 }
             }
         } catch (Exception e) {
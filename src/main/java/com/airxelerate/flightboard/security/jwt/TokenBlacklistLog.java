@@ -0,0 +1,205 @@
+package com.airxelerate.flightboard.security.jwt;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Append-only file of token revocations, written through a memory-mapped region so
+ * that logging out is a handful of memory stores. The OS writes dirty pages back on
+ * its own; {@link #flush()} additionally forces them to disk every flush interval,
+ * which bounds what an OS crash can lose. A process crash loses nothing.
+ * <p>
+ * Layout: a 16 byte header followed by fixed 32 byte records of
+ * {@code digest.high, digest.low, bloomHash, expiresAtEpochSecond}. The expiry is
+ * written last and is never zero, so the first zero expiry marks the end of the log.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.blacklist.log.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TokenBlacklistLog {
+
+    private static final int MAGIC = 0x46424C31; // "FBL1"
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 32;
+
+    private final Path path;
+    private final long growthBytes;
+
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long position;
+    private long records;
+    private volatile boolean dirty;
+
+    public TokenBlacklistLog(
+            @Value("${jwt.blacklist.log.path:data/token-blacklist.log}") Path path,
+            @Value("${jwt.blacklist.log.growth-bytes:4194304}") long growthBytes) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.growthBytes = growthBytes - growthBytes % RECORD_BYTES;
+
+        Files.createDirectories(this.path.getParent());
+        open();
+    }
+
+    /**
+     * Feeds every unexpired record to the consumer, oldest first.
+     */
+    synchronized int replay(long nowEpochSecond, Consumer<TokenBlacklistService.Revocation> consumer) {
+        long start = System.nanoTime();
+        int restored = 0;
+
+        for (long offset = HEADER_BYTES; offset < position; offset += RECORD_BYTES) {
+            long expiresAt = mapped.getLong((int) offset + 24);
+            if (expiresAt > nowEpochSecond) {
+                consumer.accept(new TokenBlacklistService.Revocation(
+                        new TokenDigest(mapped.getLong((int) offset), mapped.getLong((int) offset + 8)),
+                        expiresAt,
+                        mapped.getLong((int) offset + 16)));
+                restored++;
+            }
+        }
+
+        log.info("Replayed token blacklist log {}: {} records, {} still revoked, in {} ms",
+                path, records, restored, (System.nanoTime() - start) / 1_000_000);
+        return restored;
+    }
+
+    synchronized void append(TokenBlacklistService.Revocation revocation) {
+        if (position + RECORD_BYTES > mapped.limit()) {
+            remap(mapped.limit() + growthBytes);
+        }
+
+        int offset = (int) position;
+        mapped.putLong(offset, revocation.digest().high());
+        mapped.putLong(offset + 8, revocation.digest().low());
+        mapped.putLong(offset + 16, revocation.bloomHash());
+        mapped.putLong(offset + 24, revocation.expiresAtEpochSecond());
+
+        position += RECORD_BYTES;
+        records++;
+        dirty = true;
+    }
+
+    long records() {
+        return records;
+    }
+
+    /**
+     * Forces appended records to disk. The msync can take milliseconds, so it runs outside
+     * the lock that {@link #append} takes: a buffer replaced by {@link #remap} or
+     * {@link #compact} meanwhile stays mapped until it is garbage collected, and its pages
+     * belong to the same file, or to the one compaction has already forced and replaced.
+     */
+    @Scheduled(fixedDelayString = "${jwt.blacklist.log.flush-interval-ms:1000}")
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        MappedByteBuffer toForce;
+        synchronized (this) {
+            dirty = false;
+            toForce = mapped;
+        }
+        toForce.force();
+    }
+
+    /**
+     * Rewrites the log with only the given live revocations and swaps it in atomically.
+     */
+    synchronized void compact(Collection<TokenBlacklistService.Revocation> live) {
+        long start = System.nanoTime();
+        long before = records;
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            buffer.putInt(MAGIC).putInt(RECORD_BYTES).putLong(0);
+
+            for (TokenBlacklistService.Revocation revocation : live) {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    writeFully(out, buffer);
+                }
+                buffer.putLong(revocation.digest().high())
+                        .putLong(revocation.digest().low())
+                        .putLong(revocation.bloomHash())
+                        .putLong(revocation.expiresAtEpochSecond());
+            }
+            writeFully(out, buffer);
+            out.force(true);
+
+            close();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact token blacklist log " + path, e);
+        }
+
+        log.info("Compacted token blacklist log from {} to {} records in {} ms",
+                before, records, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            mapped.force();
+            channel.close();
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        boolean fresh = size < HEADER_BYTES;
+
+        long mappedSize = fresh ? HEADER_BYTES + growthBytes : Math.max(size, HEADER_BYTES + growthBytes);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+
+        if (fresh) {
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, RECORD_BYTES);
+        } else if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != RECORD_BYTES) {
+            throw new IOException("Unrecognised token blacklist log format: " + path);
+        }
+
+        // The mapped tail is zero-filled, so the first zero expiry is the end of the log
+        position = HEADER_BYTES;
+        while (position + RECORD_BYTES <= mapped.limit() && mapped.getLong((int) position + 24) != 0) {
+            position += RECORD_BYTES;
+        }
+        records = (position - HEADER_BYTES) / RECORD_BYTES;
+    }
+
+    private void remap(long newSize) {
+        try {
+            // The new mapping covers the same file pages; the next flush forces them
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not grow token blacklist log " + path, e);
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
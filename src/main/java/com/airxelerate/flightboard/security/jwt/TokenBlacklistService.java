@@ -1,19 +1,224 @@
 package com.airxelerate.flightboard.security.jwt;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Revoked tokens, stored as fixed-size digests together with their expiry. A token
+ * only needs to stay here until it would have expired anyway, so revocations are
+ * filed on a timing wheel by expiry and each elapsed slot is dropped in bulk.
+ * <p>
+ * An optional Bloom filter answers the common "not revoked" case without hashing
+ * the token to a digest. When {@link TokenBlacklistLog} is enabled, revocations are
+ * also appended to disk and replayed on startup, so a restart does not un-revoke tokens.
+ */
 @Service
+@Slf4j
 public class TokenBlacklistService {
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
+
+    private final JwtUtil jwtUtil;
+    private final Optional<TokenBlacklistLog> blacklistLog;
+    private final long compactionMinRecords;
+    private final long slotSeconds;
+    private final Queue<Revocation>[] wheel;
+    private final Map<TokenDigest, Revocation> revoked = new ConcurrentHashMap<>();
+
+    private final boolean bloomEnabled;
+    private final int bloomBits;
+    private final int bloomHashFunctions;
+    private volatile TokenBloomFilter bloomFilter;
+    private final ReadWriteLock bloomLock = new ReentrantReadWriteLock();
+    private long removedSinceRebuild;
+
+    private long sweptThroughTick;
+
+    private final Counter bloomRejections;
+    private final Counter digestMisses;
+    private final Counter hits;
+
+    @SuppressWarnings("unchecked")
+    public TokenBlacklistService(
+            JwtUtil jwtUtil,
+            Optional<TokenBlacklistLog> blacklistLog,
+            @Value("${jwt.blacklist.log.compaction-min-records:10000}") long compactionMinRecords,
+            @Value("${jwt.expiration}") long tokenLifetimeMillis,
+            @Value("${jwt.blacklist.slot-seconds:60}") long slotSeconds,
+            @Value("${jwt.blacklist.bloom-filter.enabled:true}") boolean bloomEnabled,
+            @Value("${jwt.blacklist.bloom-filter.bits:4194304}") int bloomBits,
+            @Value("${jwt.blacklist.bloom-filter.hash-functions:7}") int bloomHashFunctions,
+            MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.blacklistLog = blacklistLog;
+        this.compactionMinRecords = compactionMinRecords;
+        this.slotSeconds = slotSeconds;
+
+        // One lap of the wheel covers a full token lifetime, plus the slot being filled
+        int slots = (int) (TimeUnit.MILLISECONDS.toSeconds(tokenLifetimeMillis) / slotSeconds) + 2;
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sweptThroughTick = Instant.now().getEpochSecond() / slotSeconds - 1;
+
+        this.bloomEnabled = bloomEnabled;
+        this.bloomBits = bloomBits;
+        this.bloomHashFunctions = bloomHashFunctions;
+        this.bloomFilter = bloomEnabled ? new TokenBloomFilter(bloomBits, bloomHashFunctions) : null;
+
+        this.bloomRejections = lookupCounter(meterRegistry, "bloom_miss");
+        this.digestMisses = lookupCounter(meterRegistry, "miss");
+        this.hits = lookupCounter(meterRegistry, "hit");
+        Gauge.builder("flightboard.jwt.blacklist.size", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("flightboard.jwt.blacklist.lookups")
+                .description("Blacklist lookups by outcome: rejected by the Bloom filter, missed or hit")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void restore() {
+        blacklistLog.ifPresent(durable -> durable.replay(Instant.now().getEpochSecond(), this::insert));
+    }
 
     public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
+        Optional<VerifiedToken> verified = jwtUtil.verify(token);
+        if (verified.isEmpty()) {
+            // Invalid or already expired tokens can never authenticate again
+            log.debug("Ignoring revocation of an invalid or expired token");
+            return;
+        }
+
+        VerifiedToken verifiedToken = verified.get();
+        add(new Revocation(
+                verifiedToken.digest(),
+                verifiedToken.expiresAt().getEpochSecond(),
+                TokenBloomFilter.hash(token)));
     }
 
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+        TokenBloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(TokenBloomFilter.hash(token))) {
+            bloomRejections.increment();
+            return false;
+        }
+        boolean blacklisted = revoked.containsKey(TokenDigest.of(token));
+        (blacklisted ? hits : digestMisses).increment();
+        return blacklisted;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Drops every slot whose expiry window has fully elapsed. Entries for a later lap
+     * of the wheel (only possible if token lifetime was raised) are put back.
+     */
+    @Scheduled(fixedRateString = "${jwt.blacklist.slot-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void sweepExpired() {
+        sweepExpired(Instant.now().getEpochSecond());
+    }
+
+    synchronized void sweepExpired(long now) {
+        long currentTick = now / slotSeconds;
+        long firstTick = Math.max(sweptThroughTick + 1, currentTick - wheel.length);
+        int removed = 0;
+
+        for (long tick = firstTick; tick < currentTick; tick++) {
+            Queue<Revocation> slot = wheel[(int) (tick % wheel.length)];
+            for (int pending = slot.size(); pending > 0; pending--) {
+                Revocation revocation = slot.poll();
+                if (revocation == null) {
+                    break;
+                }
+                if (revocation.expiresAtEpochSecond() <= now) {
+                    revoked.remove(revocation.digest());
+                    removed++;
+                } else {
+                    slot.add(revocation);
+                }
+            }
+        }
+        sweptThroughTick = currentTick - 1;
+
+        if (removed > 0) {
+            log.debug("Removed {} expired revocations, {} remain", removed, revoked.size());
+            removedSinceRebuild += removed;
+            if (bloomEnabled && removedSinceRebuild > revoked.size()) {
+                rebuildBloomFilter();
+            }
+        }
+
+        blacklistLog.ifPresent(durable -> {
+            if (durable.records() > Math.max(compactionMinRecords, 2L * revoked.size())) {
+                durable.compact(revoked.values());
+            }
+        });
+    }
+
+    void add(Revocation revocation) {
+        if (insert(revocation)) {
+            blacklistLog.ifPresent(durable -> durable.append(revocation));
+        }
+    }
+
+    private boolean insert(Revocation revocation) {
+        bloomLock.readLock().lock();
+        try {
+            if (revoked.putIfAbsent(revocation.digest(), revocation) != null) {
+                return false;
+            }
+            wheel[(int) ((revocation.expiresAtEpochSecond() / slotSeconds) % wheel.length)].add(revocation);
+
+            TokenBloomFilter filter = bloomFilter;
+            if (filter != null) {
+                filter.add(revocation.bloomHash());
+            }
+            return true;
+        } finally {
+            bloomLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bloom filters cannot forget, so once more entries have expired than are still
+     * live the filter is rebuilt from the live set to keep its false-positive rate down.
+     */
+    private void rebuildBloomFilter() {
+        bloomLock.writeLock().lock();
+        try {
+            TokenBloomFilter rebuilt = new TokenBloomFilter(bloomBits, bloomHashFunctions);
+            for (Revocation revocation : revoked.values()) {
+                rebuilt.add(revocation.bloomHash());
+            }
+            bloomFilter = rebuilt;
+            removedSinceRebuild = 0;
+        } finally {
+            bloomLock.writeLock().unlock();
+        }
+    }
+
+    record Revocation(TokenDigest digest, long expiresAtEpochSecond, long bloomHash) {
     }
 }
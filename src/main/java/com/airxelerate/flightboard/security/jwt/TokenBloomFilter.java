@@ -0,0 +1,67 @@
+package com.airxelerate.flightboard.security.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over a 64-bit token hash. The hash is computed straight from
+ * the token's characters, so a negative answer costs no allocation and no SHA-256.
+ */
+final class TokenBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitMask;
+    private final int hashFunctions;
+
+    TokenBloomFilter(int bits, int hashFunctions) {
+        if (Integer.bitCount(bits) != 1 || bits < Long.SIZE) {
+            throw new IllegalArgumentException("Bloom filter size must be a power of two >= 64 bits");
+        }
+        this.words = new AtomicLongArray(bits / Long.SIZE);
+        this.bitMask = bits - 1L;
+        this.hashFunctions = hashFunctions;
+    }
+
+    void add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + (long) i * h2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0
+                    && !words.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + (long) i * h2) & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units followed by a MurmurHash3 finalizer.
+     */
+    static long hash(CharSequence token) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = token.length(); i < n; i++) {
+            h ^= token.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
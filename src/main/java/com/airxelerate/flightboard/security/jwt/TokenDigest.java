@@ -0,0 +1,39 @@
+package com.airxelerate.flightboard.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Fixed-size 128-bit fingerprint of a JWT (the first half of its SHA-256), used to key
+ * token caches and the blacklist without holding on to the token string itself.
+ */
+public record TokenDigest(long high, long low) {
+
+    public static final int BYTES = 16;
+
+    private static final MessageDigest SHA_256_PROTOTYPE = sha256();
+
+    public static TokenDigest of(String token) {
+        byte[] hash = newDigest().digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenDigest(buffer.getLong(), buffer.getLong());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return (MessageDigest) SHA_256_PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            return sha256();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
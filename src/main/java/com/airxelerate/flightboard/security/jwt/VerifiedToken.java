@@ -0,0 +1,19 @@
+package com.airxelerate.flightboard.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature has already been checked. Immutable, so one
+ * instance can be shared by every request presenting the same token.
+ */
+public record VerifiedToken(
+        TokenDigest digest,
+        String username,
+        String role,
+        Instant issuedAt,
+        Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,147 @@
+package com.airxelerate.flightboard.security.password;
+
+import com.airxelerate.flightboard.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a small, fixed pool with a bounded queue, so that a burst of
+ * logins or registrations can only ever tie up {@code pool-size + queue-capacity} request
+ * threads. Once the queue is full further hashing requests are rejected immediately with
+ * {@link HashingCapacityExceededException} instead of waiting behind the backlog.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration waitTimeout;
+    private final Duration retryAfter;
+
+    private final Map<String, OperationTimers> timers = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHashingExecutor(
+            @Value("${flightboard.security.hashing.pool-size:4}") int poolSize,
+            @Value("${flightboard.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${flightboard.security.hashing.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${flightboard.security.hashing.retry-after:2s}") Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.waitTimeout = waitTimeout;
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+
+        this.rejected = Counter.builder("flightboard.auth.hashing.rejected")
+                .description("Password hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("flightboard.auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("flightboard.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads currently busy")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool and waits for its result.
+     *
+     * @param operation metric tag describing the work, e.g. {@code encode} or {@code matches}
+     * @throws HashingCapacityExceededException if the queue is full or the result does not
+     *                                          arrive within the configured wait timeout
+     */
+    public <T> T execute(String operation, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        OperationTimers operationTimers = timers.computeIfAbsent(operation, this::registerTimers);
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                operationTimers.queued().record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    operationTimers.hashing().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw overloaded();
+        }
+
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private OperationTimers registerTimers(String operation) {
+        return new OperationTimers(
+                Timer.builder("flightboard.auth.hashing.queue")
+                        .description("Time password hashing tasks spend waiting for a hashing thread")
+                        .tag("operation", operation)
+                        .register(meterRegistry),
+                Timer.builder("flightboard.auth.hashing.duration")
+                        .description("Time spent computing password hashes")
+                        .tag("operation", operation)
+                        .register(meterRegistry));
+    }
+
+    private HashingCapacityExceededException overloaded() {
+        return new HashingCapacityExceededException(
+                "Authentication service is busy, please retry shortly",
+                Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record OperationTimers(Timer queued, Timer hashing) {
+    }
+}
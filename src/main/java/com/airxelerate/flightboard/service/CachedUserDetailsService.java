@@ -0,0 +1,80 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.datasource.ReplicaRoutingDataSource;
+import com.airxelerate.flightboard.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Caching layer in front of {@link CustomUserDetailsService} for the JWT filter, so
+ * steady-state authenticated traffic resolves identities without a database query.
+ * Entries are immutable snapshots without the password hash, bounded by size and TTL,
+ * and evicted as soon as a change to the user commits.
+ */
+@Service
+@Slf4j
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final UserDetailsService delegate;
+    private final Cache<String, UserDetails> cache;
+
+    public CachedUserDetailsService(
+            CustomUserDetailsService delegate,
+            MeterRegistry meterRegistry,
+            @Value("${flightboard.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${flightboard.security.user-cache.ttl:5m}") Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return cache.get(username, this::load);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+        log.debug("Evicted cached identity for user: {}", username);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.username());
+    }
+
+    private UserDetails load(String username) {
+        // Cached for the TTL, so a role change must not be re-read from a lagging replica
+        UserDetails user = ReplicaRoutingDataSource.onPrimary(() -> delegate.loadUserByUsername(username));
+
+        return User.withUsername(user.getUsername())
+                .password("")
+                .authorities(user.getAuthorities())
+                .disabled(!user.isEnabled())
+                .accountLocked(!user.isAccountNonLocked())
+                .accountExpired(!user.isAccountNonExpired())
+                .credentialsExpired(!user.isCredentialsNonExpired())
+                .build();
+    }
+}
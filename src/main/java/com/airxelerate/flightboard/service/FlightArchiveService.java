@@ -0,0 +1,161 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.airxelerate.flightboard.model.Flight;
+import com.airxelerate.flightboard.repository.FlightCursor;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves departed flights out of the live {@code flights} table into {@code flights_archive},
+ * so the live table, its indexes and every listing only cover the current schedule.
+ * <p>
+ * Runs on a schedule and works in chunks: each chunk locks, copies and deletes up to
+ * {@code chunk-size} flights in its own short transaction, then publishes them as removed
+ * so the key index, ETags, board snapshot and live feed drop them too. The archive is
+ * searched on request only, with {@code archived=true}.
+ * <p>
+ * Every instance schedules the job, but a MySQL named lock lets only one of them run it;
+ * the others skip that run.
+ */
+@Service
+@Slf4j
+public class FlightArchiveService {
+
+    private static final String LOCK_NAME = "flightboard.archive";
+
+    private final FlightJdbcRepository flightJdbcRepository;
+    private final FlightService flightService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int horizonDays;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter archived;
+    private final Timer runTimer;
+
+    public FlightArchiveService(
+            FlightJdbcRepository flightJdbcRepository,
+            FlightService flightService,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${flightboard.archive.enabled:true}") boolean enabled,
+            @Value("${flightboard.archive.horizon-days:30}") int horizonDays,
+            @Value("${flightboard.archive.chunk-size:1000}") int chunkSize) {
+        this.flightJdbcRepository = flightJdbcRepository;
+        this.flightService = flightService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+
+        this.archived = Counter.builder("flightboard.archive.flights")
+                .description("Flights moved from the live table to the archive")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("flightboard.archive.run")
+                .description("Duration of one archival run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${flightboard.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives every flight departing more than {@code horizon-days} ago.
+     *
+     * @return the number of flights archived, 0 if a run is already in progress here or
+     *         on another instance
+     */
+    public int archive() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Flight archival already running, skipped");
+            return 0;
+        }
+
+        try {
+            int[] total = new int[1];
+            boolean ran = flightJdbcRepository.runExclusively(LOCK_NAME, () -> total[0] = archiveAll());
+            if (!ran) {
+                log.info("Flight archival is running on another instance, skipped");
+            }
+            return total[0];
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveAll() {
+        long start = System.nanoTime();
+        LocalDate lastArchivedDate = LocalDate.now().minusDays(horizonDays + 1L);
+        int total = 0;
+        try {
+            FlightCursor after = null;
+            while (true) {
+                // Unlocked keyset scan; only the chunk's own rows are locked, by id, below
+                List<FlightCursor> positions = flightJdbcRepository.findMatchingPositions(
+                        null, null, lastArchivedDate, after, chunkSize);
+                if (positions.isEmpty()) {
+                    break;
+                }
+
+                List<Long> ids = positions.stream().map(FlightCursor::id).toList();
+                int moved = transactionTemplate.execute(status -> archiveChunk(ids));
+                total += moved;
+                archived.increment(moved);
+                after = positions.get(positions.size() - 1);
+                if (positions.size() < chunkSize) {
+                    break;
+                }
+            }
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        log.info("Archived {} flights departing on or before {} in {} ms",
+                total, lastArchivedDate, (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+
+    private int archiveChunk(List<Long> candidateIds) {
+        List<Flight> flights = flightJdbcRepository.lockByIds(candidateIds);
+        if (flights.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(flights.size());
+        List<FlightResponse> removed = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            ids.add(flight.getId());
+            removed.add(flightService.mapToResponse(flight));
+        }
+
+        flightJdbcRepository.archiveAll(flights, LocalDateTime.now());
+        flightJdbcRepository.deleteByIds(ids);
+        eventPublisher.publishEvent(new FlightsDeletedEvent(removed));
+        return flights.size();
+    }
+}
@@ -0,0 +1,193 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.response.ApiResponse;
+import com.airxelerate.flightboard.dto.response.FlightPageResponse;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The default first page of {@code GET /api/v1/flights}, kept fully serialized (and
+ * gzip-compressed) so the most polled request is answered by copying bytes, without
+ * loading entities, mapping or running Jackson.
+ * <p>
+ * Creates and deletes mark the snapshot dirty; a single background thread rebuilds it
+ * after a short delay, so a burst of writes causes one rebuild rather than one each.
+ * The page may be read from a replica; a build that turns out to predate the latest
+ * committed write is still served, under the older version's tag, and rebuilt again.
+ * How far the served snapshot lags behind committed writes is published as
+ * {@code flightboard.snapshot.staleness}.
+ */
+@Service
+@Slf4j
+public class FlightBoardSnapshotService {
+
+    private final FlightService flightService;
+    private final FlightVersionService flightVersionService;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+    private final Duration rebuildDelay;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "flight-board-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final Timer buildTimer;
+
+    private volatile Snapshot snapshot;
+
+    /** {@link System#nanoTime()} of the oldest write not yet in the snapshot, or 0 if up to date. */
+    private volatile long pendingSince;
+    private long writeCount;
+
+    public FlightBoardSnapshotService(
+            FlightService flightService,
+            FlightVersionService flightVersionService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${flightboard.snapshot.gzip:true}") boolean gzip,
+            @Value("${flightboard.snapshot.rebuild-delay:200ms}") Duration rebuildDelay) {
+        this.flightService = flightService;
+        this.flightVersionService = flightVersionService;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.rebuildDelay = rebuildDelay;
+
+        this.buildTimer = Timer.builder("flightboard.snapshot.build")
+                .description("Time to query and serialize the flight board snapshot")
+                .register(meterRegistry);
+        Gauge.builder("flightboard.snapshot.staleness", this, FlightBoardSnapshotService::stalenessSeconds)
+                .description("Seconds since the oldest committed write not yet reflected in the snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("flightboard.snapshot.size", this, s -> s.snapshot != null ? s.snapshot.json().length : 0)
+                .description("Uncompressed size of the flight board snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the current snapshot, or {@code null} until the first one has been built
+     */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild(Duration.ZERO);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsCreated(FlightsCreatedEvent event) {
+        markDirty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsDeleted(FlightsDeletedEvent event) {
+        markDirty();
+    }
+
+    private void markDirty() {
+        synchronized (this) {
+            writeCount++;
+            if (pendingSince == 0) {
+                pendingSince = System.nanoTime();
+            }
+        }
+        scheduleRebuild(rebuildDelay);
+    }
+
+    private void scheduleRebuild(Duration delay) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.schedule(this::rebuild, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        // Writes arriving from here on are not guaranteed to be in this build and schedule the next one
+        rebuildScheduled.set(false);
+        long buildStart = System.nanoTime();
+        long writesCovered;
+        synchronized (this) {
+            writesCovered = writeCount;
+        }
+
+        try {
+            long latestVersion = flightVersionService.latestVersion();
+            FlightService.VersionedPage versioned = flightService.getFlights(null, null);
+            FlightPageResponse page = versioned.page();
+            byte[] json = objectMapper.writeValueAsBytes(
+                    ApiResponse.success(page, "Flights retrieved successfully"));
+
+            snapshot = new Snapshot(json, gzip ? compress(json) : null,
+                    flightVersionService.listingTag(versioned.version()));
+            buildTimer.record(System.nanoTime() - buildStart, TimeUnit.NANOSECONDS);
+            if (versioned.version() < latestVersion) {
+                // Read from a replica that has not applied the write yet; serve it and try again shortly
+                log.debug("Flight board snapshot built at version {} behind {}, rebuilding",
+                        versioned.version(), latestVersion);
+                scheduleRebuild(rebuildDelay);
+                return;
+            }
+            synchronized (this) {
+                if (writeCount == writesCovered) {
+                    pendingSince = 0;
+                }
+            }
+            log.debug("Rebuilt flight board snapshot: {} flights, {} bytes", page.getSize(), json.length);
+        } catch (Exception e) {
+            log.error("Failed to rebuild flight board snapshot: {}", e.getMessage());
+            scheduleRebuild(Duration.ofSeconds(1));
+        }
+    }
+
+    private double stalenessSeconds() {
+        long since = pendingSince;
+        return since == 0 ? 0 : (System.nanoTime() - since) / 1e9;
+    }
+
+    private static byte[] compress(byte[] json) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        }
+        return buffer.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * One immutable rendering of the board. The arrays are never modified after creation.
+     *
+     * @param json the complete {@code ApiResponse} body
+     * @param gzip the same body gzip-compressed, or {@code null} if compression is disabled
+     * @param etag the listing tag the snapshot was built at
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String etag) {
+    }
+}
@@ -0,0 +1,305 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live departure board feed. Committed flight creates and deletes are serialized once,
+ * numbered, kept in a bounded replay buffer and fanned out to Server-Sent Events
+ * subscribers, optionally filtered by origin or destination.
+ * <p>
+ * Every subscriber has its own bounded queue, drained on a virtual thread only while it
+ * has pending events, so an idle subscriber costs an emitter and an empty queue and a
+ * slow one never blocks publishing. A subscriber that falls further behind than its
+ * queue allows is disconnected; on reconnect its {@code Last-Event-ID} resumes delivery
+ * from the replay buffer, or a {@code reset} event asks it to reload the board if that
+ * point has already been evicted.
+ */
+@Service
+@Slf4j
+public class FlightFeedService {
+
+    private static final String CREATED = "flight-created";
+    private static final String DELETED = "flight-deleted";
+    private static final String RESET = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final int replaySize;
+    private final int subscriberBufferSize;
+    private final Duration timeout;
+
+    private final ArrayDeque<FeedEvent> replay;
+    // Sequences restart with the JVM, so event ids carry the start time to tell runs apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long lastSequence;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter overflows;
+
+    public FlightFeedService(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${flightboard.feed.replay-size:10000}") int replaySize,
+            @Value("${flightboard.feed.subscriber-buffer:256}") int subscriberBufferSize,
+            @Value("${flightboard.feed.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.replaySize = replaySize;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.timeout = timeout;
+        this.replay = new ArrayDeque<>(replaySize);
+
+        Gauge.builder("flightboard.feed.subscribers", subscribers, Set::size)
+                .description("Connected live feed subscribers")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("flightboard.feed.overflows")
+                .description("Subscribers disconnected because their buffer filled up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a feed for one client.
+     *
+     * @param origin      only flights departing from this airport, or {@code null} for all
+     * @param destination only flights arriving at this airport, or {@code null} for all
+     * @param lastEventId the id of the last event the client saw before reconnecting, or
+     *                    {@code null}; ids that are not in this feed's format are ignored
+     */
+    public SseEmitter subscribe(String origin, String destination, String lastEventId) {
+        Long resumeAfter = resumeSequence(lastEventId);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, normalize(origin), normalize(destination));
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Registering and replaying under the publish lock means no event is missed or sent twice
+        synchronized (this) {
+            if (resumeAfter != null) {
+                FeedEvent oldest = replay.peekFirst();
+                long firstAvailable = oldest != null ? oldest.sequence() : lastSequence + 1;
+                if (resumeAfter < 0 || resumeAfter > lastSequence || resumeAfter + 1 < firstAvailable) {
+                    // Events since then are gone, or were numbered by an earlier run (or another
+                    // instance): the client reloads the board and continues from here
+                    subscriber.replay(new FeedEvent(lastSequence, RESET, null, null, "{}"));
+                } else {
+                    for (FeedEvent event : replay) {
+                        if (event.sequence() > resumeAfter) {
+                            subscriber.replay(event);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        log.debug("Feed subscriber connected (origin={}, destination={}, resumeAfter={})",
+                origin, destination, lastEventId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsCreated(FlightsCreatedEvent event) {
+        publish(CREATED, event.flights());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsDeleted(FlightsDeletedEvent event) {
+        publish(DELETED, event.flights());
+    }
+
+    private synchronized void publish(String type, List<FlightResponse> flights) {
+        for (FlightResponse flight : flights) {
+            FeedEvent event = new FeedEvent(
+                    ++lastSequence, type, flight.getOrigin(), flight.getDestination(), toJson(flight));
+
+            if (replay.size() == replaySize) {
+                replay.pollFirst();
+            }
+            replay.addLast(event);
+
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedRateString = "${flightboard.feed.heartbeat:30s}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        delivery.shutdownNow();
+    }
+
+    /**
+     * @return the sequence of an event id issued by this run, -1 for a well-formed id from
+     *         another run, or {@code null} if the id is absent or malformed
+     */
+    private Long resumeSequence(String lastEventId) {
+        if (lastEventId == null) {
+            return null;
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator <= 0) {
+            return null;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (sequence < 0) {
+            return null;
+        }
+        return epoch.equals(lastEventId.substring(0, separator)) ? sequence : -1L;
+    }
+
+    private String eventId(FeedEvent event) {
+        return epoch + "-" + event.sequence();
+    }
+
+    private String toJson(FlightResponse flight) {
+        try {
+            return objectMapper.writeValueAsString(flight);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize flight " + flight.getId(), e);
+        }
+    }
+
+    private static String normalize(String airport) {
+        return airport == null || airport.isBlank() ? null : airport.trim().toUpperCase();
+    }
+
+    private record FeedEvent(long sequence, String type, String origin, String destination, String json) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String origin;
+        private final String destination;
+
+        private final Queue<FeedEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        Subscriber(SseEmitter emitter, String origin, String destination) {
+            this.emitter = emitter;
+            this.origin = origin;
+            this.destination = destination;
+        }
+
+        void offer(FeedEvent event) {
+            if (overflowed || !matches(event)) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > subscriberBufferSize) {
+                overflowed = true;
+                overflows.increment();
+                subscribers.remove(this);
+            } else {
+                pending.add(event);
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Queues a missed event on (re)connect. Not counted against the buffer, which
+         * only bounds how far a connected client may fall behind live publishing.
+         */
+        void replay(FeedEvent event) {
+            if (matches(event)) {
+                pending.add(event);
+                scheduleDrain();
+            }
+        }
+
+        void heartbeat() {
+            if (pendingCount.get() == 0) {
+                heartbeatDue.set(true);
+                scheduleDrain();
+            }
+        }
+
+        private boolean matches(FeedEvent event) {
+            if (event.origin() == null) {
+                return true;
+            }
+            return (origin == null || origin.equals(event.origin()))
+                    && (destination == null || destination.equals(event.destination()));
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    FeedEvent event;
+                    while ((event = pending.poll()) != null) {
+                        pendingCount.decrementAndGet();
+                        emitter.send(SseEmitter.event()
+                                .id(eventId(event))
+                                .name(event.type())
+                                .data(event.json(), MediaType.APPLICATION_JSON));
+                    }
+                    if (overflowed) {
+                        // Reconnecting with Last-Event-ID resumes from the replay buffer
+                        emitter.complete();
+                        return;
+                    }
+                    if (heartbeatDue.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    }
+                    draining.set(false);
+                } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                draining.set(false);
+                log.debug("Feed subscriber disconnected: {}", e.getMessage());
+            }
+        }
+    }
+}
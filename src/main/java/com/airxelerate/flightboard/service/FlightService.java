@@ -1,54 +1,246 @@
 package com.airxelerate.flightboard.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.airxelerate.flightboard.dto.request.BulkDeleteRequest;
 import com.airxelerate.flightboard.dto.request.FlightRequest;
+import com.airxelerate.flightboard.dto.request.FlightSearchRequest;
+import com.airxelerate.flightboard.dto.response.BulkDeleteResponse;
+import com.airxelerate.flightboard.dto.response.BulkFlightResponse;
+import com.airxelerate.flightboard.dto.response.BulkFlightResult;
+import com.airxelerate.flightboard.dto.response.FlightKeyResponse;
+import com.airxelerate.flightboard.dto.response.FlightPageResponse;
 import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.exception.BulkRequestTooLargeException;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
 import com.airxelerate.flightboard.exception.DuplicateFlightException;
 import com.airxelerate.flightboard.exception.FlightNotFoundException;
+import com.airxelerate.flightboard.exception.InvalidDeleteCriteriaException;
+import com.airxelerate.flightboard.index.FlightKeyIndex;
+import com.airxelerate.flightboard.model.ArchivedFlight;
 import com.airxelerate.flightboard.model.Flight;
+import com.airxelerate.flightboard.model.FlightData;
+import com.airxelerate.flightboard.model.FlightKey;
+import com.airxelerate.flightboard.repository.ArchivedFlightRepository;
+import com.airxelerate.flightboard.repository.FlightCursor;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
 import com.airxelerate.flightboard.repository.FlightRepository;
+import com.airxelerate.flightboard.repository.FlightSpecifications;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FlightService {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
     private final FlightRepository flightRepository;
+    private final ArchivedFlightRepository archivedFlightRepository;
+    private final FlightJdbcRepository flightJdbcRepository;
+    private final FlightKeyIndex flightKeyIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${flightboard.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${flightboard.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${flightboard.bulk.max-items:10000}")
+    private int maxBulkItems;
+
+    @Value("${flightboard.bulk.delete-chunk-size:1000}")
+    private int deleteChunkSize;
 
+    /**
+     * Inserts the flight in one round trip and lets the unique constraint on the natural
+     * key decide duplicates, so concurrent creates of the same flight cannot both succeed.
+     * The in-memory index only short-circuits duplicates it already knows about.
+     */
     @Transactional
     public FlightResponse createFlight(FlightRequest request) {
-        flightRepository.findByCarrierCodeAndFlightNumberAndFlightDate(
-                request.getCarrierCode(),
-                request.getFlightNumber(),
-                request.getFlightDate()
-        ).ifPresent(f -> {
-            throw new DuplicateFlightException(
-                    String.format("Flight %s%s on %s already exists",
-                            request.getCarrierCode(),
-                            request.getFlightNumber(),
-                            request.getFlightDate())
-            );
-        });
+        if (flightKeyIndex.isReady()
+                && flightKeyIndex.contains(request.getCarrierCode(), request.getFlightNumber(), request.getFlightDate())) {
+            throw duplicateFlight(request);
+        }
 
-        Flight flight = Flight.builder()
-                .carrierCode(request.getCarrierCode())
-                .flightNumber(request.getFlightNumber())
-                .flightDate(request.getFlightDate())
-                .origin(request.getOrigin())
-                .destination(request.getDestination())
+        Flight savedFlight;
+        try {
+            savedFlight = flightRepository.saveAndFlush(toEntity(request));
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw duplicateFlight(request);
+            }
+            throw e;
+        }
+        log.debug("Flight created successfully with ID: {}", savedFlight.getId());
+
+        FlightResponse response = mapToResponse(savedFlight);
+        eventPublisher.publishEvent(new FlightsCreatedEvent(List.of(response)));
+
+        return response;
+    }
+
+    /**
+     * Creates many flights at once. Items are validated individually, duplicates are
+     * resolved with one set-wise lookup and the rest are inserted in JDBC batches.
+     * Invalid and duplicate items are reported rather than failing the whole request.
+     * <p>
+     * Not {@code @Transactional}: the lookup and insert run in a transaction of their own
+     * so that, if a concurrent create takes a key between the two, the insert can be
+     * rolled back and retried once with a fresh lookup that reports it as a duplicate.
+     */
+    public BulkFlightResponse createFlights(List<FlightRequest> requests) {
+        if (requests.size() > maxBulkItems) {
+            throw new BulkRequestTooLargeException(
+                    String.format("At most %d flights can be created per request", maxBulkItems));
+        }
+
+        long start = System.nanoTime();
+        BulkFlightResult[] results = new BulkFlightResult[requests.size()];
+        Map<FlightKey, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            FlightRequest request = requests.get(i);
+            String violations = validate(request);
+            if (violations != null) {
+                results[i] = bulkResult(i, BulkFlightResult.Status.INVALID, null, violations);
+                continue;
+            }
+
+            FlightKey key = toKey(request);
+            if (candidates.putIfAbsent(key, i) != null) {
+                results[i] = bulkResult(i, BulkFlightResult.Status.DUPLICATE, null,
+                        "Flight " + key + " appears more than once in the request");
+            }
+        }
+
+        Map<FlightKey, Flight> byKey = new LinkedHashMap<>();
+        candidates.forEach((key, index) -> byKey.put(key, toEntity(requests.get(index))));
+        Set<FlightKey> existing;
+        try {
+            existing = transactionTemplate.execute(status -> insertAbsent(byKey));
+        } catch (DuplicateKeyException e) {
+            // A concurrent create took one of the keys after the existence check; the insert rolled back
+            try {
+                existing = transactionTemplate.execute(status -> insertAbsent(byKey));
+            } catch (DuplicateKeyException again) {
+                throw new DuplicateFlightException(
+                        "Some of these flights are being created concurrently, retry the request");
+            }
+        }
+
+        int createdCount = 0;
+        for (Map.Entry<FlightKey, Integer> candidate : candidates.entrySet()) {
+            int index = candidate.getValue();
+            if (existing.contains(candidate.getKey())) {
+                results[index] = bulkResult(index, BulkFlightResult.Status.DUPLICATE, null,
+                        "Flight " + candidate.getKey() + " already exists");
+            } else {
+                results[index] = bulkResult(index, BulkFlightResult.Status.CREATED,
+                        byKey.get(candidate.getKey()).getId(), null);
+                createdCount++;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        int duplicates = 0;
+        int rejected = 0;
+        for (BulkFlightResult result : results) {
+            if (result.getStatus() == BulkFlightResult.Status.DUPLICATE) {
+                duplicates++;
+            } else if (result.getStatus() == BulkFlightResult.Status.INVALID) {
+                rejected++;
+            }
+        }
+        double rowsPerSecond = elapsedNanos > 0 ? createdCount * 1_000_000_000d / elapsedNanos : 0;
+
+        log.info("Bulk created {} flights ({} duplicates, {} rejected) in {} ms, {} rows/sec",
+                createdCount, duplicates, rejected, elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return BulkFlightResponse.builder()
+                .received(requests.size())
+                .created(createdCount)
+                .duplicates(duplicates)
+                .rejected(rejected)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .results(List.of(results))
                 .build();
+    }
 
-        Flight savedFlight = flightRepository.save(flight);
-        log.info("Flight created successfully with ID: {}", savedFlight.getId());
+    /**
+     * Inserts flights that were already validated and are unique among themselves,
+     * skipping those whose natural key exists. Used by the schedule importer, which
+     * validates while parsing.
+     *
+     * @return the natural keys that already existed and were not inserted
+     */
+    @Transactional
+    public Set<FlightKey> createValidatedFlights(List<Flight> flights) {
+        Map<FlightKey, Flight> byKey = new LinkedHashMap<>();
+        for (Flight flight : flights) {
+            byKey.put(new FlightKey(flight.getCarrierCode(), flight.getFlightNumber(), flight.getFlightDate()), flight);
+        }
+        return insertAbsent(byKey);
+    }
 
-        return mapToResponse(savedFlight);
+    /**
+     * Runs in the caller's transaction. If a concurrent create inserts one of the keys
+     * after the lookup, the insert fails with a {@link DuplicateKeyException} and the
+     * transaction has to be rolled back.
+     *
+     * @return the natural keys that already existed and were not inserted
+     */
+    private Set<FlightKey> insertAbsent(Map<FlightKey, Flight> byKey) {
+        Set<FlightKey> existing = flightJdbcRepository.findExistingKeys(byKey.keySet());
+        List<Flight> toInsert = new ArrayList<>(byKey.size() - existing.size());
+        byKey.forEach((key, flight) -> {
+            if (!existing.contains(key)) {
+                toInsert.add(flight);
+            }
+        });
+
+        flightJdbcRepository.insertAll(toInsert);
+        if (!toInsert.isEmpty()) {
+            eventPublisher.publishEvent(new FlightsCreatedEvent(toInsert.stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList())));
+        }
+        return existing;
     }
 
     @Transactional(readOnly = true)
@@ -61,26 +253,340 @@ public class FlightService {
         return mapToResponse(flight);
     }
 
+    /**
+     * Resolves a natural key to its flight id from the in-memory index, touching the
+     * database only while the index is still loading. Not {@code @Transactional}: the
+     * index path needs no transaction or connection, so only the fallback opens one.
+     */
+    public FlightKeyResponse getFlightByKey(String carrierCode, String flightNumber, LocalDate flightDate) {
+        Long id;
+        if (flightKeyIndex.isReady()) {
+            long found = flightKeyIndex.find(carrierCode, flightNumber, flightDate);
+            id = found == FlightKeyIndex.NOT_FOUND ? null : found;
+        } else {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnly.setReadOnly(true);
+            id = readOnly.execute(status -> flightRepository
+                    .findByCarrierCodeAndFlightNumberAndFlightDate(carrierCode, flightNumber, flightDate)
+                    .map(Flight::getId)
+                    .orElse(null));
+        }
+
+        if (id == null) {
+            throw new FlightNotFoundException(
+                    String.format("Flight %s%s on %s not found", carrierCode, flightNumber, flightDate));
+        }
+
+        return FlightKeyResponse.builder()
+                .id(id)
+                .carrierCode(carrierCode)
+                .flightNumber(flightNumber)
+                .flightDate(flightDate)
+                .build();
+    }
+
+    /**
+     * Listings may be read from a replica. The table version is read first, in the same
+     * transaction, so that under REPEATABLE READ the page comes from the snapshot the
+     * version describes and the page's tag can never run ahead of its content.
+     */
+    @Transactional(readOnly = true)
+    public VersionedPage getFlights(String cursor, Integer size) {
+        long version = flightJdbcRepository.findTableVersion();
+        return new VersionedPage(
+                findPage(FlightSpecifications.after(FlightCursor.decode(cursor)), resolvePageSize(size)), version);
+    }
+
+    /**
+     * Any combination of origin, destination, carrier and date range, run as one query
+     * and paginated the same way as the plain listing. Versioned like {@link #getFlights}.
+     */
     @Transactional(readOnly = true)
-    public List<FlightResponse> getAllFlights() {
-       return flightRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public VersionedPage searchFlights(FlightSearchRequest request) {
+        long version = flightJdbcRepository.findTableVersion();
+        int pageSize = resolvePageSize(request.getSize());
+        if (Boolean.TRUE.equals(request.getArchived())) {
+            return new VersionedPage(findArchivedPage(searchSpec(request), pageSize), version);
+        }
+        return new VersionedPage(findPage(searchSpec(request), pageSize), version);
+    }
+
+    private <T> Specification<T> searchSpec(FlightSearchRequest request) {
+        Specification<T> spec = FlightSpecifications.after(FlightCursor.decode(request.getCursor()));
+
+        if (request.getOrigin() != null) {
+            spec = spec.and(FlightSpecifications.hasOrigin(request.getOrigin()));
+        }
+        if (request.getDestination() != null) {
+            spec = spec.and(FlightSpecifications.hasDestination(request.getDestination()));
+        }
+        if (request.getCarrierCode() != null) {
+            spec = spec.and(FlightSpecifications.hasCarrierCode(request.getCarrierCode()));
+        }
+        if (request.getFrom() != null) {
+            spec = spec.and(FlightSpecifications.departsOnOrAfter(request.getFrom()));
+        }
+        if (request.getTo() != null) {
+            spec = spec.and(FlightSpecifications.departsOnOrBefore(request.getTo()));
+        }
+        return spec;
+    }
+
+    /**
+     * Writes every flight as one JSON document per line. Rows are read through a
+     * server-side cursor and detached as soon as they are written, so heap use does
+     * not depend on table size.
+     */
+    @Transactional(readOnly = true)
+    public long exportFlights(OutputStream out) throws IOException {
+        long count = 0;
+
+        try (Stream<Flight> flights = flightRepository.streamAll();
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            for (Flight flight : (Iterable<Flight>) flights::iterator) {
+                generator.writeObject(mapToResponse(flight));
+                generator.writeRaw('\n');
+                entityManager.detach(flight);
+
+                if (++count == 1 || count % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        log.info("Exported {} flights", count);
+        return count;
     }
 
     @Transactional
     public void deleteFlight(Long id) {
-        log.info("Deleting flight with ID: {}", id);
+        Flight flight = flightRepository.findById(id)
+                .orElseThrow(() -> new FlightNotFoundException("Flight not found with ID: " + id));
+
+        flightRepository.delete(flight);
+        eventPublisher.publishEvent(new FlightsDeletedEvent(List.of(mapToResponse(flight))));
+        log.debug("Flight deleted successfully: {}", id);
+    }
+
+    /**
+     * Deletes flights by id or by date-bounded criteria. Rows are locked by id, read as plain
+     * values and removed with one DELETE per chunk, each chunk in its own transaction, so
+     * no entities are loaded and locks are held on one chunk's rows at a time. Criteria are
+     * resolved to ids by an unlocked keyset scan, one chunk ahead. A failure leaves earlier
+     * chunks deleted.
+     */
+    public BulkDeleteResponse deleteFlights(BulkDeleteRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byCriteria = request.getCarrierCode() != null || request.getFrom() != null
+                || request.getTo() != null || request.getBefore() != null;
 
-        if (!flightRepository.existsById(id)) {
-            throw new FlightNotFoundException("Flight not found with ID: " + id);
+        if (byIds == byCriteria) {
+            throw new InvalidDeleteCriteriaException("Either ids or criteria must be given, but not both");
         }
 
-        flightRepository.deleteById(id);
-        log.info("Flight deleted successfully: {}", id);
+        long start = System.nanoTime();
+        BulkDeleteResponse response = byIds ? deleteByIds(request.getIds()) : deleteMatching(request);
+        response.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+
+        log.info("Bulk deleted {} flights in {} chunks in {} ms",
+                response.getDeleted(), response.getChunks(), response.getElapsedMillis());
+        return response;
+    }
+
+    private BulkDeleteResponse deleteByIds(List<Long> requestedIds) {
+        if (requestedIds.size() > maxBulkItems) {
+            throw new BulkRequestTooLargeException(
+                    String.format("At most %d flights can be deleted per request", maxBulkItems));
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(requestedIds));
+        ids.removeIf(Objects::isNull);
+        Set<Long> notFound = new LinkedHashSet<>(ids);
+        int deleted = 0;
+        int chunks = 0;
+
+        for (int from = 0; from < ids.size(); from += deleteChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + deleteChunkSize, ids.size()));
+            List<FlightResponse> removed = transactionTemplate.execute(status ->
+                    deleteLocked(flightJdbcRepository.lockByIds(chunk)));
+
+            removed.forEach(flight -> notFound.remove(flight.getId()));
+            deleted += removed.size();
+            chunks++;
+        }
+
+        return BulkDeleteResponse.builder()
+                .deleted(deleted)
+                .chunks(chunks)
+                .notFound(List.copyOf(notFound))
+                .build();
+    }
+
+    private BulkDeleteResponse deleteMatching(BulkDeleteRequest request) {
+        LocalDate from = request.getFrom();
+        LocalDate to = request.getTo();
+
+        if (request.getBefore() != null) {
+            if (from != null || to != null) {
+                throw new InvalidDeleteCriteriaException("'before' cannot be combined with 'from' or 'to'");
+            }
+            to = request.getBefore().minusDays(1);
+        } else if (from == null || to == null) {
+            throw new InvalidDeleteCriteriaException("Deleting by criteria needs 'from' and 'to', or 'before'");
+        } else if (from.isAfter(to)) {
+            throw new InvalidDeleteCriteriaException("'from' must not be after 'to'");
+        }
+
+        FlightCursor after = null;
+        int deleted = 0;
+        int chunks = 0;
+
+        while (true) {
+            List<FlightCursor> positions = flightJdbcRepository.findMatchingPositions(
+                    request.getCarrierCode(), from, to, after, deleteChunkSize);
+            if (positions.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = positions.stream().map(FlightCursor::id).toList();
+            List<FlightResponse> removed = transactionTemplate.execute(status ->
+                    deleteLocked(flightJdbcRepository.lockByIds(ids)));
+
+            deleted += removed.size();
+            chunks++;
+            after = positions.get(positions.size() - 1);
+            if (positions.size() < deleteChunkSize) {
+                break;
+            }
+        }
+
+        return BulkDeleteResponse.builder()
+                .deleted(deleted)
+                .chunks(chunks)
+                .build();
+    }
+
+    private List<FlightResponse> deleteLocked(List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(flights.size());
+        List<FlightResponse> deleted = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            ids.add(flight.getId());
+            deleted.add(mapToResponse(flight));
+        }
+
+        flightJdbcRepository.deleteByIds(ids);
+        eventPublisher.publishEvent(new FlightsDeletedEvent(deleted));
+        return deleted;
+    }
+
+    private DuplicateFlightException duplicateFlight(FlightRequest request) {
+        return new DuplicateFlightException(
+                String.format("Flight %s%s on %s already exists",
+                        request.getCarrierCode(),
+                        request.getFlightNumber(),
+                        request.getFlightDate()));
+    }
+
+    /**
+     * The natural key is the only unique constraint on {@code flights} besides the
+     * generated id, so a unique violation on insert is always a duplicate flight.
+     * Not-null and check violations are left to surface as they are.
+     */
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+
+    private String validate(FlightRequest request) {
+        if (request == null) {
+            return "Flight is required";
+        }
+
+        Set<ConstraintViolation<FlightRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 
-    private FlightResponse mapToResponse(Flight flight) {
+    private BulkFlightResult bulkResult(int index, BulkFlightResult.Status status, Long id, String message) {
+        return BulkFlightResult.builder()
+                .index(index)
+                .status(status)
+                .id(id)
+                .message(message)
+                .build();
+    }
+
+    private FlightKey toKey(FlightRequest request) {
+        return new FlightKey(request.getCarrierCode(), request.getFlightNumber(), request.getFlightDate());
+    }
+
+    private Flight toEntity(FlightRequest request) {
+        return Flight.builder()
+                .carrierCode(request.getCarrierCode())
+                .flightNumber(request.getFlightNumber())
+                .flightDate(request.getFlightDate())
+                .origin(request.getOrigin())
+                .destination(request.getDestination())
+                .build();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private FlightPageResponse findPage(Specification<Flight> spec, int pageSize) {
+        // One extra row tells us whether another page exists without a COUNT(*)
+        List<Flight> flights = flightRepository.findBy(spec, query -> query
+                .sortBy(FlightSpecifications.KEYSET_ORDER)
+                .limit(pageSize + 1)
+                .all());
+
+        return toPage(flights, pageSize);
+    }
+
+    private FlightPageResponse findArchivedPage(Specification<ArchivedFlight> spec, int pageSize) {
+        List<ArchivedFlight> flights = archivedFlightRepository.findBy(spec, query -> query
+                .sortBy(FlightSpecifications.KEYSET_ORDER)
+                .limit(pageSize + 1)
+                .all());
+
+        return toPage(flights, pageSize);
+    }
+
+    private FlightPageResponse toPage(List<? extends FlightData> flights, int pageSize) {
+        boolean hasNext = flights.size() > pageSize;
+        List<? extends FlightData> page = hasNext ? flights.subList(0, pageSize) : flights;
+
+        return FlightPageResponse.builder()
+                .content(page.stream()
+                        .map(this::mapToResponse)
+                        .collect(Collectors.toList()))
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? FlightCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    FlightResponse mapToResponse(FlightData flight) {
         return FlightResponse.builder()
                 .id(flight.getId())
                 .carrierCode(flight.getCarrierCode())
@@ -92,4 +598,10 @@ public class FlightService {
                 .updatedAt(flight.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * A listing page together with the version of the flights table it was read at.
+     */
+    public record VersionedPage(FlightPageResponse page, long version) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.datasource.ReplicaRoutingDataSource;
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.dto.response.FlightStatisticsResponse;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository.FlightCounts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flight counts per carrier, route and departure date, kept in memory so dashboards read
+ * them without querying the table. Committed creates and deletes (including archival)
+ * adjust {@link LongAdder} counters, which concurrent writers update without contending
+ * on a shared lock or cell.
+ * <p>
+ * The counters are rebuilt from grouped queries when the application starts and then
+ * periodically, which corrects any drift (e.g. writes made outside the application).
+ * Events are not replayed onto a rebuild: after-commit listeners cannot tell whether
+ * their commit is inside the rebuild's snapshot, so a replay would count some flights
+ * twice. Instead, changes committed while a rebuild runs can be missing from the new
+ * counters until the next reconciliation. They are reported as drift then.
+ */
+@Service
+@Slf4j
+public class FlightStatisticsService implements SmartInitializingSingleton {
+
+    private final FlightJdbcRepository flightJdbcRepository;
+    private final FlightVersionService flightVersionService;
+    private final TransactionTemplate snapshotTransaction;
+    private final Counter drift;
+
+    private volatile Counters counters = new Counters();
+    private volatile Instant reconciledAt;
+
+    public FlightStatisticsService(
+            FlightJdbcRepository flightJdbcRepository,
+            FlightVersionService flightVersionService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.flightJdbcRepository = flightJdbcRepository;
+        this.flightVersionService = flightVersionService;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.drift = Counter.builder("flightboard.stats.drift")
+                .description("Counter values corrected by reconciliation with the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Flight statistics could not be loaded, counts start empty until the next reconciliation", e);
+        }
+    }
+
+    public FlightStatisticsResponse getStatistics() {
+        Counters current = counters;
+        return FlightStatisticsResponse.builder()
+                .total(current.total.sum())
+                .byCarrier(snapshot(current.byCarrier))
+                .byRoute(snapshot(current.byRoute))
+                .byDate(snapshot(current.byDate))
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsCreated(FlightsCreatedEvent event) {
+        apply(event.flights(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsDeleted(FlightsDeletedEvent event) {
+        apply(event.flights(), -1);
+    }
+
+    /**
+     * Rebuilds the counters from the database and reports how many of them had drifted.
+     * Counts from a replica are only used if it has applied every write committed here.
+     */
+    @Scheduled(initialDelayString = "${flightboard.stats.reconcile-interval:15m}",
+            fixedDelayString = "${flightboard.stats.reconcile-interval:15m}")
+    public void reconcile() {
+        long start = System.nanoTime();
+
+        long latestVersion = flightVersionService.latestVersion();
+        VersionedCounts counts = snapshotTransaction.execute(status -> countFlights());
+        if (counts.version() < latestVersion) {
+            // The replica has not applied every write yet and would undo it until the next run
+            counts = ReplicaRoutingDataSource.onPrimary(() -> snapshotTransaction.execute(status -> countFlights()));
+        }
+
+        Counters rebuilt = new Counters(counts.counts());
+        Counters previous = counters;
+        counters = rebuilt;
+        reconciledAt = Instant.now();
+
+        long corrected = previous.differences(rebuilt);
+        drift.increment(corrected);
+        log.info("Flight statistics reconciled in {} ms: {} flights, {} counters corrected",
+                (System.nanoTime() - start) / 1_000_000, rebuilt.total.sum(), corrected);
+    }
+
+    private VersionedCounts countFlights() {
+        long version = flightJdbcRepository.findTableVersion();
+        return new VersionedCounts(flightJdbcRepository.countFlights(), version);
+    }
+
+    private void apply(List<FlightResponse> flights, int sign) {
+        Counters current = counters;
+        for (FlightResponse flight : flights) {
+            current.apply(flight, sign);
+        }
+    }
+
+    private static <K extends Comparable<K>> SortedMap<K, Long> snapshot(Map<K, LongAdder> counts) {
+        SortedMap<K, Long> result = new TreeMap<>();
+        counts.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value > 0) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> byCarrier = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, LongAdder> byRoute = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<LocalDate, LongAdder> byDate = new ConcurrentHashMap<>();
+
+        Counters() {
+        }
+
+        Counters(FlightCounts counts) {
+            counts.byCarrier().forEach((carrier, count) -> add(byCarrier, carrier, count));
+            counts.byRoute().forEach((route, count) -> add(byRoute, route, count));
+            counts.byDate().forEach((date, count) -> add(byDate, date, count));
+            counts.byCarrier().values().forEach(total::add);
+        }
+
+        void apply(FlightResponse flight, int sign) {
+            total.add(sign);
+            add(byCarrier, flight.getCarrierCode(), sign);
+            add(byRoute, FlightCounts.route(flight.getOrigin(), flight.getDestination()), sign);
+            add(byDate, flight.getFlightDate(), sign);
+        }
+
+        /**
+         * @return how many counters differ from {@code other}
+         */
+        long differences(Counters other) {
+            return differences(byCarrier, other.byCarrier)
+                    + differences(byRoute, other.byRoute)
+                    + differences(byDate, other.byDate);
+        }
+
+        private static <K> long differences(Map<K, LongAdder> mine, Map<K, LongAdder> theirs) {
+            long count = 0;
+            for (Map.Entry<K, LongAdder> entry : mine.entrySet()) {
+                LongAdder other = theirs.get(entry.getKey());
+                if (entry.getValue().sum() != (other != null ? other.sum() : 0)) {
+                    count++;
+                }
+            }
+            for (Map.Entry<K, LongAdder> entry : theirs.entrySet()) {
+                if (!mine.containsKey(entry.getKey()) && entry.getValue().sum() != 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private static <K> void add(ConcurrentHashMap<K, LongAdder> counts, K key, long delta) {
+            counts.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    private record VersionedCounts(FlightCounts counts, long version) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entity tags for flight reads.
+ * <p>
+ * Listings are tagged with the version of the flights table (see
+ * {@link com.airxelerate.flightboard.model.FlightTableVersion}) read in the same
+ * transaction as the page, so a page read from a lagging replica carries the older
+ * version it actually reflects. The latest version committed through this instance is
+ * kept in memory to answer a matching {@code If-None-Match} before any query.
+ * <p>
+ * Single flights are tagged from {@code id} and {@code updatedAt} of the body being
+ * served. Only committed creates remember a flight's tag for answering
+ * {@code If-None-Match} before the flight is loaded; tags of served flights are not
+ * remembered, since they may have been read from a replica.
+ * <p>
+ * Both shortcuts only follow writes committed through this instance, so the application
+ * must run as a single instance. Behind a load balancer, an instance that did not see a
+ * create or delete would keep answering {@code 304} with its old tags.
+ */
+@Service
+@Slf4j
+public class FlightVersionService implements SmartInitializingSingleton {
+
+    private final FlightJdbcRepository flightJdbcRepository;
+    private final AtomicLong tableVersion = new AtomicLong();
+    private final Cache<Long, String> flightTags;
+
+    public FlightVersionService(
+            FlightJdbcRepository flightJdbcRepository,
+            @Value("${flightboard.etag.cache-size:100000}") long cacheSize) {
+        this.flightJdbcRepository = flightJdbcRepository;
+        this.flightTags = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            // Outside a transaction, so read from the primary
+            committed(flightJdbcRepository.findTableVersion());
+        } catch (RuntimeException e) {
+            log.warn("Flight table version could not be loaded, listings are queried until the next write: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * @return the latest version of the flights table committed through this instance
+     */
+    public long latestVersion() {
+        return tableVersion.get();
+    }
+
+    /**
+     * @return the tag of a listing at the latest committed version
+     */
+    public String listingTag() {
+        return listingTag(tableVersion.get());
+    }
+
+    /**
+     * @param version the table version read in the same transaction as the listing
+     */
+    public String listingTag(long version) {
+        return "\"flights-" + version + "\"";
+    }
+
+    /**
+     * @return the tag of a flight whose version is known, or {@code null} if it has to be loaded
+     */
+    public String knownFlightTag(Long id) {
+        return flightTags.getIfPresent(id);
+    }
+
+    public String flightTag(FlightResponse flight) {
+        return tagOf(flight.getId(), flight.getUpdatedAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeFlightsCreated(FlightsCreatedEvent event) {
+        incrementTableVersion();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeFlightsDeleted(FlightsDeletedEvent event) {
+        incrementTableVersion();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsCreated(FlightsCreatedEvent event) {
+        event.flights().forEach(flight -> flightTags.put(flight.getId(), flightTag(flight)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightsDeleted(FlightsDeletedEvent event) {
+        event.flights().forEach(flight -> flightTags.invalidate(flight.getId()));
+    }
+
+    /**
+     * Runs inside the writing transaction, right before it commits, so the version row
+     * is locked only for the commit itself.
+     */
+    private void incrementTableVersion() {
+        long version = flightJdbcRepository.incrementTableVersion();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(version);
+            }
+        });
+    }
+
+    private void committed(long version) {
+        tableVersion.accumulateAndGet(version, Math::max);
+    }
+
+    private static String tagOf(Long id, LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return "\"flight-" + id + "\"";
+        }
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        return "\"flight-" + id + "-" + Long.toString(micros, 36) + "\"";
+    }
+}
@@ -0,0 +1,227 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.response.ImportStatusResponse;
+import com.airxelerate.flightboard.exception.ImportJobNotFoundException;
+import com.airxelerate.flightboard.exception.InvalidScheduleFileException;
+import com.airxelerate.flightboard.importer.ImportJob;
+import com.airxelerate.flightboard.importer.ScheduleFormat;
+import com.airxelerate.flightboard.importer.ScheduleParser;
+import com.airxelerate.flightboard.importer.ScheduleParser.ParsedChunk;
+import com.airxelerate.flightboard.importer.ScheduleParser.ParsedFlight;
+import com.airxelerate.flightboard.importer.ScheduleParser.Rejection;
+import com.airxelerate.flightboard.model.Flight;
+import com.airxelerate.flightboard.model.FlightKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Loads schedule files into the flights table. The upload is written to a temporary file
+ * and memory-mapped; the mapping is cut into chunks of whole lines that are parsed and
+ * validated in parallel on a fork-join pool, while the import thread inserts finished
+ * chunks in file order, one transaction and one set of JDBC batches per chunk.
+ * <p>
+ * At most twice the pool's parallelism chunks are parsed ahead of the inserts, so heap use
+ * depends on the chunk size, not the file size. Imports run one at a time; further
+ * uploads wait their turn. Progress is polled with {@link #getStatus(String)}.
+ */
+@Service
+@Slf4j
+public class ScheduleImportService {
+
+    private final FlightService flightService;
+    private final int chunkBytes;
+    private final int maxRejectionsReported;
+
+    private final ForkJoinPool parsers;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "schedule-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Cache<String, ImportJob> jobs;
+
+    public ScheduleImportService(
+            FlightService flightService,
+            @Value("${flightboard.import.chunk-bytes:262144}") int chunkBytes,
+            @Value("${flightboard.import.parallelism:0}") int parallelism,
+            @Value("${flightboard.import.max-rejections-reported:1000}") int maxRejectionsReported,
+            @Value("${flightboard.import.retained-jobs:100}") long retainedJobs) {
+        this.flightService = flightService;
+        this.chunkBytes = chunkBytes;
+        this.maxRejectionsReported = maxRejectionsReported;
+        this.parsers = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(retainedJobs)
+                .build();
+    }
+
+    public ImportStatusResponse startImport(MultipartFile file, String formatName) {
+        ScheduleFormat format = ScheduleFormat.parse(formatName);
+        if (format == null) {
+            throw new InvalidScheduleFileException("Unknown format '" + formatName + "', expected csv or fixed");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new InvalidScheduleFileException("Schedule file is empty");
+        }
+        if (file.getSize() > Integer.MAX_VALUE) {
+            throw new InvalidScheduleFileException("Schedule files are limited to 2 GB");
+        }
+
+        Path path;
+        try {
+            path = Files.createTempFile("flight-import-", ".dat");
+            file.transferTo(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot store uploaded schedule file", e);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), format,
+                file.getSize(), maxRejectionsReported);
+        jobs.put(job.getId(), job);
+        runner.execute(() -> run(job, path));
+
+        log.info("Queued schedule import {} of {} ({} bytes, {})",
+                job.getId(), file.getOriginalFilename(), file.getSize(), format);
+        return job.toResponse();
+    }
+
+    public ImportStatusResponse getStatus(String id) {
+        ImportJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ImportJobNotFoundException("Import not found with ID: " + id);
+        }
+        return job.toResponse();
+    }
+
+    private void run(ImportJob job, Path path) {
+        job.start();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<int[]> chunks = split(mapped);
+
+            Queue<ForkJoinTask<ParsedChunk>> parsing = new ArrayDeque<>();
+            int window = parsers.getParallelism() * 2;
+            int submitted = 0;
+            long lineOffset = 0;
+
+            for (int[] chunk : chunks) {
+                while (submitted < chunks.size() && parsing.size() < window) {
+                    int[] next = chunks.get(submitted++);
+                    parsing.add(parsers.submit(() -> ScheduleParser.parse(
+                            mapped.slice(next[0], next[1] - next[0]), job.getFormat(), next[0] == 0)));
+                }
+
+                ParsedChunk parsed = parsing.remove().join();
+                int created = store(job, parsed, lineOffset);
+                job.chunkDone(chunk[1] - chunk[0], parsed.lines(), created);
+                lineOffset += parsed.lines();
+            }
+
+            job.complete();
+            ImportStatusResponse status = job.toResponse();
+            log.info("Schedule import {} finished: {} lines, {} created, {} duplicates, {} rejected in {} ms, {} lines/sec",
+                    job.getId(), status.getLines(), status.getCreated(), status.getDuplicates(),
+                    status.getRejected(), status.getElapsedMillis(), Math.round(status.getLinesPerSecond()));
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            log.error("Schedule import {} failed", job.getId(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Cuts the file into regions of about {@code chunkBytes}, each ending after a line break.
+     */
+    private List<int[]> split(MappedByteBuffer mapped) {
+        List<int[]> chunks = new ArrayList<>();
+        int size = mapped.limit();
+        int start = 0;
+        while (start < size) {
+            int end = (int) Math.min((long) start + chunkBytes, size);
+            while (end < size && mapped.get(end - 1) != '\n') {
+                end++;
+            }
+            chunks.add(new int[] { start, end });
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Records the chunk's rejections and inserts its flights.
+     *
+     * @return the number of flights created
+     */
+    private int store(ImportJob job, ParsedChunk parsed, long lineOffset) {
+        for (Rejection rejection : parsed.rejections()) {
+            job.rejected(lineOffset + rejection.line(), rejection.message());
+        }
+
+        Map<FlightKey, ParsedFlight> candidates = new LinkedHashMap<>();
+        for (ParsedFlight parsedFlight : parsed.flights()) {
+            Flight flight = parsedFlight.flight();
+            FlightKey key = new FlightKey(flight.getCarrierCode(), flight.getFlightNumber(), flight.getFlightDate());
+            if (candidates.putIfAbsent(key, parsedFlight) != null) {
+                job.duplicate(lineOffset + parsedFlight.line(), "Flight " + key + " appears more than once in the file");
+            }
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<Flight> flights = new ArrayList<>(candidates.size());
+        candidates.values().forEach(parsedFlight -> flights.add(parsedFlight.flight()));
+
+        Set<FlightKey> existing;
+        try {
+            existing = flightService.createValidatedFlights(flights);
+        } catch (DuplicateKeyException e) {
+            // A concurrent create took one of the keys after the existence check; the chunk rolled back
+            existing = flightService.createValidatedFlights(flights);
+        }
+
+        for (Map.Entry<FlightKey, ParsedFlight> candidate : candidates.entrySet()) {
+            if (existing.contains(candidate.getKey())) {
+                job.duplicate(lineOffset + candidate.getValue().line(),
+                        "Flight " + candidate.getKey() + " already exists");
+            }
+        }
+        return candidates.size() - existing.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        parsers.shutdownNow();
+    }
+}
@@ -1,14 +1,17 @@
 package com.airxelerate.flightboard.service;
 
 import com.airxelerate.flightboard.dto.request.RegisterRequest;
+import com.airxelerate.flightboard.event.UserChangedEvent;
 import com.airxelerate.flightboard.dto.response.UserResponse;
 import com.airxelerate.flightboard.exception.UnauthorizedOperationException;
 import com.airxelerate.flightboard.exception.UserAlreadyExistsException;
+import com.airxelerate.flightboard.exception.UserNotFoundException;
 import com.airxelerate.flightboard.model.Role;
 import com.airxelerate.flightboard.model.User;
 import com.airxelerate.flightboard.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,9 +28,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
+    // Not @Transactional: the password is hashed before any connection is taken, so a
+    // registration burst queued on the hashing pool does not also drain the connection pool.
     public UserResponse registerUser(RegisterRequest request) {
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
 
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new UserAlreadyExistsException(
@@ -43,7 +49,7 @@ public class UserService {
 
         User user = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .role(roleToAssign)
                 .enabled(true)
                 .build();
@@ -53,11 +59,11 @@ public class UserService {
         return mapToResponse(savedUser);
     }
 
-    @Transactional
     public UserResponse registerAdmin(RegisterRequest request) {
         log.info("Registering new admin: {}", request.getUsername());
 
         validateAdminCreation();
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
 
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new UserAlreadyExistsException(
@@ -67,7 +73,7 @@ public class UserService {
 
         User admin = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .role(Role.ADMIN)
                 .enabled(true)
                 .build();
@@ -88,7 +94,31 @@ public class UserService {
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with ID: " + id));
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
+
+        return mapToResponse(user);
+    }
+
+    @Transactional
+    public UserResponse updateUserRole(Long id, Role role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
+
+        log.info("Changing role of user {} from {} to {}", user.getUsername(), user.getRole(), role);
+        user.setRole(role);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+
+        return mapToResponse(user);
+    }
+
+    @Transactional
+    public UserResponse updateUserStatus(Long id, boolean enabled) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
+
+        log.info("Setting enabled={} for user {}", enabled, user.getUsername());
+        user.setEnabled(enabled);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
 
         return mapToResponse(user);
     }
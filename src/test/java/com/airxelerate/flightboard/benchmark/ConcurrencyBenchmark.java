@@ -0,0 +1,146 @@
+package com.airxelerate.flightboard.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop benchmark holding N concurrent connections against a running instance,
+ * each one issuing authenticated {@code GET /api/v1/flights} requests back to back.
+ * <p>
+ * Start the application once in the default platform-thread mode and once with
+ * {@code --spring.profiles.active=virtual}, run this against each and compare:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.airxelerate.flightboard.benchmark.ConcurrencyBenchmark \
+ *     -Dexec.args="http://localhost:8080 30 1000 2500 5000 10000" -Dbenchmark.label=virtual
+ * </pre>
+ * The first fifth of every run is warm-up and is not measured.
+ */
+public class ConcurrencyBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int[] levels = args.length > 2
+                ? Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[] { 1000, 2500, 5000, 10000 };
+        String label = System.getProperty("benchmark.label", "unlabelled");
+
+        String token = login(baseUrl);
+
+        System.out.printf("%-12s %8s %10s %10s %9s %9s %9s %8s%n",
+                "mode", "conns", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (int connections : levels) {
+            Result result = run(baseUrl, token, connections, Duration.ofSeconds(durationSeconds));
+            System.out.printf("%-12s %8d %10d %10.0f %9.1f %9.1f %9.1f %8d%n",
+                    label, connections, result.requests(), result.throughput(),
+                    result.percentileMillis(0.50), result.percentileMillis(0.99),
+                    result.percentileMillis(1.0), result.errors());
+        }
+    }
+
+    private static String login(String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        System.getProperty("benchmark.credentials",
+                                "{\"username\":\"user\",\"password\":\"user123\"}")))
+                .build();
+
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static Result run(String baseUrl, String token, int connections, Duration duration) throws Exception {
+        URI uri = URI.create(baseUrl + "/api/v1/flights?size=20");
+        long start = System.nanoTime();
+        long measureFrom = start + duration.toNanos() / 5;
+        long deadline = start + duration.toNanos();
+        LongAdder errors = new LongAdder();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(workers)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+
+            List<Future<long[]>> futures = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                futures.add(workers.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            long finished = System.nanoTime();
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            } else if (now >= measureFrom) {
+                                if (count == latencies.length) {
+                                    latencies = Arrays.copyOf(latencies, count * 2);
+                                }
+                                latencies[count++] = finished - now;
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            Arrays.sort(all);
+
+            double measuredSeconds = (deadline - measureFrom) / 1e9;
+            return new Result(all, all.length / measuredSeconds, errors.sum());
+        }
+    }
+
+    private record Result(long[] sortedLatencies, double throughput, long errors) {
+
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.airxelerate.flightboard.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes real transactions against two embedded H2 databases, each of which answers
+ * {@code SELECT name FROM node} with its own role.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofMillis(300);
+
+    private SwitchableDataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+
+        // Health checks are triggered by the tests themselves
+        routing = new ReplicaRoutingDataSource(primary, replica, READ_YOUR_WRITES_WINDOW,
+                Duration.ofHours(1), Duration.ofSeconds(1), new SimpleMeterRegistry());
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsGoToPrimary() {
+        assertThat(node(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void statementsOutsideTransactionsGoToPrimary() {
+        assertThat(jdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimaryUntilWindowExpires() throws InterruptedException {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE node SET writes = writes + 1"));
+
+        assertThat(node(readOnly)).isEqualTo("primary");
+
+        authenticate("bob");
+        assertThat(node(readOnly)).isEqualTo("replica");
+
+        Thread.sleep(READ_YOUR_WRITES_WINDOW.toMillis() * 2);
+        authenticate("alice");
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWritesDoNotOpenWindow() {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("UPDATE node SET writes = writes + 1");
+            status.setRollbackOnly();
+        });
+
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void pinnedReadsGoToPrimary() {
+        assertThat(ReplicaRoutingDataSource.onPrimary(() -> node(readOnly))).isEqualTo("primary");
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaIsDown() {
+        replica.down = true;
+
+        assertThat(node(readOnly)).isEqualTo("primary");
+        assertThat(routing.isReplicaHealthy()).isFalse();
+
+        routing.checkReplica();
+        assertThat(node(readOnly)).isEqualTo("primary");
+
+        replica.down = false;
+        routing.checkReplica();
+        assertThat(routing.isReplicaHealthy()).isTrue();
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16), writes INT)");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.airxelerate.flightboard.importer;
+
+import com.airxelerate.flightboard.importer.ScheduleParser.ParsedChunk;
+import com.airxelerate.flightboard.importer.ScheduleParser.ParsedFlight;
+import com.airxelerate.flightboard.importer.ScheduleParser.Rejection;
+import com.airxelerate.flightboard.model.Flight;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ScheduleParserTest {
+
+    @Test
+    void parsesCsvRecord() {
+        ParsedChunk chunk = parse("AA,1234,2025-01-20,JFK,LAX\n", ScheduleFormat.CSV);
+
+        assertThat(chunk.lines()).isEqualTo(1);
+        assertThat(chunk.rejections()).isEmpty();
+        assertThat(chunk.flights()).singleElement().satisfies(parsed -> {
+            assertThat(parsed.line()).isEqualTo(1);
+            assertFlight(parsed.flight(), "AA", "1234", LocalDate.of(2025, 1, 20), "JFK", "LAX");
+        });
+    }
+
+    @Test
+    void trimsSpacesAroundCsvFields() {
+        ParsedChunk chunk = parse(" AA , 1234 ,2025-01-20, JFK ,LAX \n", ScheduleFormat.CSV);
+
+        assertThat(chunk.rejections()).isEmpty();
+        assertFlight(chunk.flights().get(0).flight(), "AA", "1234", LocalDate.of(2025, 1, 20), "JFK", "LAX");
+    }
+
+    @Test
+    void parsesFixedRecordAndIgnoresTrailingColumns() {
+        ParsedChunk chunk = parse("AA123420250120JFKLAX\nBA000120251231LHRJFK  remarks\n", ScheduleFormat.FIXED);
+
+        assertThat(chunk.rejections()).isEmpty();
+        assertThat(chunk.flights()).hasSize(2);
+        assertFlight(chunk.flights().get(0).flight(), "AA", "1234", LocalDate.of(2025, 1, 20), "JFK", "LAX");
+        assertFlight(chunk.flights().get(1).flight(), "BA", "0001", LocalDate.of(2025, 12, 31), "LHR", "JFK");
+    }
+
+    @Test
+    void acceptsCrlfAndUnterminatedLastLine() {
+        ParsedChunk csv = parse("AA,0001,2025-01-20,JFK,LAX\r\nAA,0002,2025-01-20,JFK,LAX", ScheduleFormat.CSV);
+        ParsedChunk fixed = parse("AA000120250120JFKLAX\r\nAA000220250120JFKLAX", ScheduleFormat.FIXED);
+
+        for (ParsedChunk chunk : List.of(csv, fixed)) {
+            assertThat(chunk.lines()).isEqualTo(2);
+            assertThat(chunk.rejections()).isEmpty();
+            assertThat(chunk.flights()).extracting(parsed -> parsed.flight().getDestination())
+                    .containsExactly("LAX", "LAX");
+        }
+    }
+
+    @Test
+    void skipsHeaderOnlyOnFirstLineOfFirstChunk() {
+        String text = "Carrier,Flight,Date,Origin,Destination\nAA,0001,2025-01-20,JFK,LAX\n";
+
+        ParsedChunk first = parse(text, ScheduleFormat.CSV, true);
+        assertThat(first.rejections()).isEmpty();
+        assertThat(first.flights()).extracting(ParsedFlight::line).containsExactly(2);
+
+        ParsedChunk later = parse(text, ScheduleFormat.CSV, false);
+        assertThat(later.rejections()).extracting(Rejection::line).containsExactly(1);
+
+        ParsedChunk notFirstLine = parse("AA,0001,2025-01-20,JFK,LAX\ncarrier,flight,date,origin,destination\n",
+                ScheduleFormat.CSV, true);
+        assertThat(notFirstLine.rejections()).extracting(Rejection::line).containsExactly(2);
+    }
+
+    @Test
+    void skipsBlankAndCommentLinesButCountsThem() {
+        ParsedChunk chunk = parse("# schedule\n\nAA,0001,2025-01-20,JFK,LAX\r\n\r\n#AA,0002,2025-01-20,JFK,LAX\n"
+                + "AA,0003,2025-01-20,JFK,LAX\n", ScheduleFormat.CSV);
+
+        assertThat(chunk.lines()).isEqualTo(6);
+        assertThat(chunk.rejections()).isEmpty();
+        assertThat(chunk.flights()).extracting(ParsedFlight::line).containsExactly(3, 6);
+    }
+
+    @Test
+    void validatesCalendarDates() {
+        ParsedChunk chunk = parse("""
+                AA,0001,2024-02-29,JFK,LAX
+                AA,0002,2025-02-29,JFK,LAX
+                AA,0003,2100-02-29,JFK,LAX
+                AA,0004,2000-02-29,JFK,LAX
+                AA,0005,2025-04-31,JFK,LAX
+                AA,0006,2025-13-01,JFK,LAX
+                AA,0007,2025-00-10,JFK,LAX
+                AA,0008,2025/01/20,JFK,LAX
+                AA,0009,2025-1-20,JFK,LAX
+                AA,0010,20x5-01-20,JFK,LAX
+                """, ScheduleFormat.CSV);
+
+        assertThat(chunk.flights()).extracting(parsed -> parsed.flight().getFlightDate())
+                .containsExactly(LocalDate.of(2024, 2, 29), LocalDate.of(2000, 2, 29));
+        assertThat(chunk.rejections())
+                .extracting(Rejection::line, Rejection::message)
+                .containsExactly(
+                        tuple(2, "Flight date must be a valid date"),
+                        tuple(3, "Flight date must be a valid date"),
+                        tuple(5, "Flight date must be a valid date"),
+                        tuple(6, "Flight date must be a valid date"),
+                        tuple(7, "Flight date must be a valid date"),
+                        tuple(8, "Flight date must be a valid date"),
+                        tuple(9, "Flight date must be a valid date"),
+                        tuple(10, "Flight date must be a valid date"));
+    }
+
+    @Test
+    void validatesFixedDates() {
+        ParsedChunk chunk = parse("AA000120240229JFKLAX\nAA000220250229JFKLAX\nAA0003        JFKLAX\n",
+                ScheduleFormat.FIXED);
+
+        assertThat(chunk.flights()).extracting(ParsedFlight::line).containsExactly(1);
+        assertThat(chunk.rejections())
+                .extracting(Rejection::line, Rejection::message)
+                .containsExactly(
+                        tuple(2, "Flight date must be a valid date"),
+                        tuple(3, "Flight date is required"));
+    }
+
+    @Test
+    void rejectsWrongFieldCounts() {
+        ParsedChunk chunk = parse("AA,0001,2025-01-20,JFK\nAA,0002,2025-01-20,JFK,LAX,extra\nAA,0003,2025-01-20,JFK,LAX,\n",
+                ScheduleFormat.CSV);
+
+        assertThat(chunk.flights()).isEmpty();
+        assertThat(chunk.rejections())
+                .extracting(Rejection::line, Rejection::message)
+                .containsExactly(
+                        tuple(1, "Record must have 5 comma-separated fields"),
+                        tuple(2, "Record must have 5 comma-separated fields"),
+                        tuple(3, "Record must have 5 comma-separated fields"));
+    }
+
+    @Test
+    void rejectsShortFixedRecords() {
+        ParsedChunk chunk = parse("AA000120250120JFKLA\n", ScheduleFormat.FIXED);
+
+        assertThat(chunk.rejections()).singleElement()
+                .extracting(Rejection::message)
+                .isEqualTo("Record must be at least 20 characters, was 19");
+    }
+
+    @Test
+    void reportsEveryViolationOfALine() {
+        ParsedChunk chunk = parse("a,12,,JFKX,\n", ScheduleFormat.CSV);
+
+        assertThat(chunk.rejections()).singleElement()
+                .extracting(Rejection::message)
+                .isEqualTo("Carrier code must be 2 uppercase letters (IATA code); "
+                        + "Destination airport is required; "
+                        + "Flight date is required; "
+                        + "Flight number must be exactly 4 digits; "
+                        + "Origin must be 3 uppercase letters (IATA airport code)");
+    }
+
+    @Test
+    void sharesCodeStringsBetweenRecords() {
+        ParsedChunk chunk = parse("AA,0001,2025-01-20,JFK,LAX\nAA,0001,2025-01-21,LAX,JFK\n", ScheduleFormat.CSV);
+
+        Flight first = chunk.flights().get(0).flight();
+        Flight second = chunk.flights().get(1).flight();
+        assertThat(second.getCarrierCode()).isSameAs(first.getCarrierCode());
+        assertThat(second.getFlightNumber()).isSameAs(first.getFlightNumber());
+        assertThat(second.getOrigin()).isSameAs(first.getDestination());
+    }
+
+    @Test
+    void chunksOfOneFileAddUpToAbsoluteLineNumbers() {
+        String text = "carrier,flight,date,origin,destination\r\n"
+                + "AA,0001,2025-01-20,JFK,LAX\r\n"
+                + "# comment\r\n"
+                + "AA,0002,2025-02-30,JFK,LAX\r\n"
+                + "\r\n"
+                + "AA,0003,2025-01-20,JFK,LAX\r\n"
+                + "AA,0004,2025-01-20,JFK\r\n"
+                + "AA,0005,2025-01-20,JFK,LAX";
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer file = ByteBuffer.wrap(bytes);
+
+        // Cut after whole lines, the way the importer splits a mapped file
+        List<Integer> cuts = List.of(0, text.indexOf("# comment"), text.indexOf("AA,0003"), bytes.length);
+        List<Long> flightLines = new ArrayList<>();
+        List<Long> rejectionLines = new ArrayList<>();
+        long offset = 0;
+        for (int i = 0; i < cuts.size() - 1; i++) {
+            int from = cuts.get(i);
+            ParsedChunk chunk = ScheduleParser.parse(file.slice(from, cuts.get(i + 1) - from), ScheduleFormat.CSV, from == 0);
+            for (ParsedFlight parsed : chunk.flights()) {
+                flightLines.add(offset + parsed.line());
+            }
+            for (Rejection rejection : chunk.rejections()) {
+                rejectionLines.add(offset + rejection.line());
+            }
+            offset += chunk.lines();
+        }
+
+        assertThat(offset).isEqualTo(8);
+        assertThat(flightLines).containsExactly(2L, 6L, 8L);
+        assertThat(rejectionLines).containsExactly(4L, 7L);
+    }
+
+    private static ParsedChunk parse(String text, ScheduleFormat format) {
+        return parse(text, format, true);
+    }
+
+    private static ParsedChunk parse(String text, ScheduleFormat format, boolean firstChunk) {
+        return ScheduleParser.parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)), format, firstChunk);
+    }
+
+    private static void assertFlight(Flight flight, String carrierCode, String flightNumber, LocalDate flightDate,
+                                     String origin, String destination) {
+        assertThat(flight.getCarrierCode()).isEqualTo(carrierCode);
+        assertThat(flight.getFlightNumber()).isEqualTo(flightNumber);
+        assertThat(flight.getFlightDate()).isEqualTo(flightDate);
+        assertThat(flight.getOrigin()).isEqualTo(origin);
+        assertThat(flight.getDestination()).isEqualTo(destination);
+    }
+}
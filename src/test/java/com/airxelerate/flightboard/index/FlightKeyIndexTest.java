@@ -0,0 +1,137 @@
+package com.airxelerate.flightboard.index;
+
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository.FlightKeyHandler;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class FlightKeyIndexTest {
+
+    private static final List<LocalDate> EDGE_DATES = List.of(
+            LocalDate.MIN,
+            LocalDate.of(1969, 12, 31),
+            LocalDate.EPOCH,
+            LocalDate.of(2025, 1, 20),
+            LocalDate.MAX);
+
+    @Test
+    void packedKeysDecodeToTheirFieldsAtTheEdges() {
+        for (String carrierCode : List.of("AA", "AZ", "ZA", "ZZ")) {
+            for (String flightNumber : List.of("0000", "0001", "9999")) {
+                for (LocalDate flightDate : EDGE_DATES) {
+                    long key = FlightKeyIndex.pack(carrierCode, flightNumber, flightDate);
+
+                    assertThat(key).isNotZero();
+                    assertThat(unpack(key)).isEqualTo(carrierCode + flightNumber + "@" + flightDate);
+                }
+            }
+        }
+    }
+
+    @Test
+    void neighbouringKeysPackToDistinctValues() {
+        Map<Long, String> packed = new HashMap<>();
+        for (String carrierCode : List.of("AA", "AB", "BA", "ZY", "ZZ")) {
+            for (String flightNumber : List.of("0000", "0009", "0010", "9998", "9999")) {
+                for (LocalDate flightDate : List.of(LocalDate.MIN, LocalDate.MIN.plusDays(1), LocalDate.EPOCH.minusDays(1),
+                        LocalDate.EPOCH, LocalDate.MAX.minusDays(1), LocalDate.MAX)) {
+                    String flight = carrierCode + flightNumber + "@" + flightDate;
+                    assertThat(packed.put(FlightKeyIndex.pack(carrierCode, flightNumber, flightDate), flight))
+                            .as(flight).isNull();
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsKeysOutsideTheEncoding() {
+        LocalDate date = LocalDate.of(2025, 1, 20);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> FlightKeyIndex.pack("aa", "0001", date));
+        assertThatIllegalArgumentException().isThrownBy(() -> FlightKeyIndex.pack("A@", "0001", date));
+        assertThatIllegalArgumentException().isThrownBy(() -> FlightKeyIndex.pack("A[", "0001", date));
+        assertThatIllegalArgumentException().isThrownBy(() -> FlightKeyIndex.pack("AAA", "0001", date));
+        assertThatIllegalArgumentException().isThrownBy(() -> FlightKeyIndex.pack("AA", "001", date));
+        assertThatIllegalArgumentException().isThrownBy(() -> FlightKeyIndex.pack("AA", "00a1", date));
+        assertThatIllegalArgumentException().isThrownBy(() -> FlightKeyIndex.pack("AA", "0001", null));
+        assertThatIllegalArgumentException().isThrownBy(() -> FlightKeyIndex.pack(null, "0001", date));
+    }
+
+    @Test
+    void loadsFromDatabaseAndFollowsCommittedEvents() {
+        LocalDate date = LocalDate.of(2025, 1, 20);
+        FlightJdbcRepository repository = mock(FlightJdbcRepository.class);
+        doAnswer(invocation -> {
+            FlightKeyHandler handler = invocation.getArgument(0);
+            handler.accept(1, "AA", "0001", date);
+            handler.accept(2, "ZZ", "9999", LocalDate.MAX);
+            return null;
+        }).when(repository).forEachKey(any());
+
+        FlightKeyIndex index = new FlightKeyIndex(repository);
+        index.afterSingletonsInstantiated();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.find("AA", "0001", date)).isEqualTo(1);
+        assertThat(index.find("ZZ", "9999", LocalDate.MAX)).isEqualTo(2);
+        assertThat(index.contains("AA", "0001", date.plusDays(1))).isFalse();
+
+        FlightResponse created = flight(3, "BA", "0100", date);
+        index.onFlightsCreated(new FlightsCreatedEvent(List.of(created)));
+        assertThat(index.find("BA", "0100", date)).isEqualTo(3);
+
+        index.onFlightsDeleted(new FlightsDeletedEvent(List.of(flight(1, "AA", "0001", date), created)));
+        assertThat(index.find("AA", "0001", date)).isEqualTo(FlightKeyIndex.NOT_FOUND);
+        assertThat(index.contains("BA", "0100", date)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void staysNotReadyWhenLoadingFails() {
+        FlightJdbcRepository repository = mock(FlightJdbcRepository.class);
+        doThrow(new IllegalStateException("database down")).when(repository).forEachKey(any());
+
+        FlightKeyIndex index = new FlightKeyIndex(repository);
+        index.afterSingletonsInstantiated();
+
+        assertThat(index.isReady()).isFalse();
+    }
+
+    /**
+     * Decodes a key by the bit layout documented on {@link FlightKeyIndex}.
+     */
+    private static String unpack(long key) {
+        long carrier = key & 0x3FF;
+        long number = (key >>> 10) & 0x3FFF;
+        long epochDay = key >> 24;
+        char first = (char) ('A' + carrier / 27 - 1);
+        char second = (char) ('A' + carrier % 27 - 1);
+        return "" + first + second + String.format("%04d", number) + "@" + LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static FlightResponse flight(long id, String carrierCode, String flightNumber, LocalDate flightDate) {
+        return FlightResponse.builder()
+                .id(id)
+                .carrierCode(carrierCode)
+                .flightNumber(flightNumber)
+                .flightDate(flightDate)
+                .origin("JFK")
+                .destination("LAX")
+                .build();
+    }
+}
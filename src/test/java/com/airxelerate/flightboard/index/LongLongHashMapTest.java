@@ -0,0 +1,177 @@
+package com.airxelerate.flightboard.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class LongLongHashMapTest {
+
+    // Mask of the smallest table, which new LongLongHashMap(1) allocates
+    private static final int MASK = 15;
+
+    @Test
+    void putGetAndReplace() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertThat(map.put(42, 1)).isEqualTo(LongLongHashMap.NO_VALUE);
+        assertThat(map.put(42, 2)).isEqualTo(1);
+        assertThat(map.get(42)).isEqualTo(2);
+        assertThat(map.containsKey(43)).isFalse();
+        assertThat(map.get(-42)).isEqualTo(LongLongHashMap.NO_VALUE);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeReturnsValueOnlyOnce() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(7, 70);
+
+        assertThat(map.remove(7)).isEqualTo(70);
+        assertThat(map.remove(7)).isEqualTo(LongLongHashMap.NO_VALUE);
+        assertThat(map.containsKey(7)).isFalse();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void rejectsReservedKey() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> map.put(0, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> map.get(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> map.remove(0));
+    }
+
+    @Test
+    void collidingKeysStayReachableAfterRemovingAnyOfThem() {
+        List<Long> colliding = keysWithSlot(3, 4);
+
+        for (int removed = 0; removed < colliding.size(); removed++) {
+            LongLongHashMap map = new LongLongHashMap(1);
+            assertThat(map.capacity()).isEqualTo(MASK + 1);
+            colliding.forEach(key -> map.put(key, -key));
+
+            assertThat(map.remove(colliding.get(removed))).isEqualTo(-colliding.get(removed));
+            for (int i = 0; i < colliding.size(); i++) {
+                long key = colliding.get(i);
+                assertThat(map.get(key)).isEqualTo(i == removed ? LongLongHashMap.NO_VALUE : -key);
+            }
+        }
+    }
+
+    @Test
+    void backwardShiftWrapsAroundTheEndOfTheTable() {
+        // Two keys hashing to the last slot (the second wraps to slot 0) and one hashing to slot 0
+        List<Long> last = keysWithSlot(MASK, 2);
+        long first = keysWithSlot(0, 1).get(0);
+
+        LongLongHashMap map = new LongLongHashMap(1);
+        assertThat(map.capacity()).isEqualTo(MASK + 1);
+        map.put(last.get(0), 1);
+        map.put(last.get(1), 2);
+        map.put(first, 3);
+
+        assertThat(map.remove(last.get(0))).isEqualTo(1);
+        assertThat(map.get(last.get(1))).isEqualTo(2);
+        assertThat(map.get(first)).isEqualTo(3);
+
+        assertThat(map.remove(last.get(1))).isEqualTo(2);
+        assertThat(map.get(first)).isEqualTo(3);
+
+        // The wrapped entries moved back, so slot 0 must be reusable for a fresh probe
+        map.put(last.get(0), 4);
+        assertThat(map.get(last.get(0))).isEqualTo(4);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void growsAndKeepsEveryEntry() {
+        LongLongHashMap map = new LongLongHashMap();
+        int count = 100_000;
+        for (long key = 1; key <= count; key++) {
+            map.put(key << 24 | key, key);
+        }
+
+        assertThat(map.size()).isEqualTo(count);
+        assertThat(map.capacity()).isGreaterThanOrEqualTo((int) (count / 0.6));
+        assertThat(Integer.bitCount(map.capacity())).isEqualTo(1);
+        for (long key = 1; key <= count; key++) {
+            assertThat(map.get(key << 24 | key)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void presizedMapDoesNotGrowBeforeExpectedSize() {
+        LongLongHashMap map = new LongLongHashMap(1000);
+        int capacity = map.capacity();
+        for (long key = 1; key <= 1000; key++) {
+            map.put(key, key);
+        }
+
+        assertThat(map.capacity()).isEqualTo(capacity);
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(1, 1);
+        map.put(2, 2);
+        map.clear();
+
+        assertThat(map.size()).isZero();
+        assertThat(map.containsKey(1)).isFalse();
+        map.put(2, 3);
+        assertThat(map.get(2)).isEqualTo(3);
+    }
+
+    @Test
+    void behavesLikeHashMapUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(20250120);
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> reference = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // A small key space keeps clusters dense, so removals shift often and across the end
+            long key = random.nextLong(1, 2_000);
+            if (random.nextInt(3) == 0) {
+                Long expected = reference.remove(key);
+                assertThat(map.remove(key)).isEqualTo(expected == null ? LongLongHashMap.NO_VALUE : expected);
+            } else {
+                long value = random.nextLong();
+                Long expected = reference.put(key, value);
+                assertThat(map.put(key, value)).isEqualTo(expected == null ? LongLongHashMap.NO_VALUE : expected);
+            }
+            assertThat(map.size()).isEqualTo(reference.size());
+        }
+        for (long key = 1; key < 2_000; key++) {
+            Long expected = reference.get(key);
+            assertThat(map.get(key)).isEqualTo(expected == null ? LongLongHashMap.NO_VALUE : expected);
+        }
+    }
+
+    /**
+     * Finds keys whose home slot in a 16-slot table is {@code slot}, using the same mix
+     * as {@link LongLongHashMap}.
+     */
+    private static List<Long> keysWithSlot(int slot, int count) {
+        List<Long> keys = new ArrayList<>(count);
+        for (long key = 1; keys.size() < count; key++) {
+            long h = key;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            if (((int) h & MASK) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,297 @@
+package com.airxelerate.flightboard.loadtest;
+
+import com.airxelerate.flightboard.dto.request.FlightRequest;
+import com.airxelerate.flightboard.dto.response.BulkFlightResponse;
+import com.airxelerate.flightboard.dto.response.BulkFlightResult;
+import com.airxelerate.flightboard.service.FlightService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.test.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the whole application against an embedded H2 database in MySQL mode, seeds it,
+ * then drives a fixed-rate mix of requests through the HTTP stack and writes latency
+ * percentiles and throughput per endpoint to {@code target/loadtest/}.
+ * <p>
+ * Arrivals are open-model: each endpoint is fired on its own schedule regardless of how
+ * fast earlier requests complete, and latency is measured from the scheduled send time,
+ * so a stalled server shows up as latency rather than as a silently lower request rate.
+ * <p>
+ * Tuned through system properties:
+ * <ul>
+ *   <li>{@code loadtest.rates} - requests per second per endpoint,
+ *       default {@code login=5,list=200,get=200,create=20,delete=10}</li>
+ *   <li>{@code loadtest.duration} / {@code loadtest.warmup} - measured window and
+ *       unmeasured lead-in, default {@code 30s} / {@code 10s}</li>
+ *   <li>{@code loadtest.seed-flights} - flights inserted before the run, default {@code 20000}</li>
+ *   <li>{@code loadtest.label} - build label stored in the report</li>
+ *   <li>{@code loadtest.max-error-rate} - fails the run above this ratio, default {@code 0.01}</li>
+ * </ul>
+ */
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FlightboardLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String USER_LOGIN = "{\"username\":\"user\",\"password\":\"user123\"}";
+    private static final String ADMIN_LOGIN = "{\"username\":\"admin\",\"password\":\"admin123\"}";
+    private static final int SEED_BATCH = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient client;
+    private String baseUrl;
+    private String userToken;
+    private String adminToken;
+
+    private final List<Long> readableIds = new ArrayList<>();
+    private final Queue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger createdFlights = new AtomicInteger();
+
+    @Test
+    void runLoadProfile() throws Exception {
+        Map<String, Double> rates = parseRates(System.getProperty(
+                "loadtest.rates", "login=5,list=200,get=200,create=20,delete=10"));
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+        Duration warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+        int seedFlights = Integer.getInteger("loadtest.seed-flights", 20_000);
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            baseUrl = "http://localhost:" + port + "/api/v1";
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(workers)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            seed(seedFlights);
+            userToken = login(USER_LOGIN);
+            adminToken = login(ADMIN_LOGIN);
+
+            Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+            rates.forEach((endpoint, rate) -> recorders.put(endpoint, new LatencyRecorder(endpoint, rate)));
+
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+            long measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+
+            List<Thread> schedulers = new ArrayList<>();
+            for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+                String endpoint = entry.getKey();
+                LatencyRecorder recorder = entry.getValue();
+                long intervalNanos = (long) (1e9 / rates.get(endpoint));
+                schedulers.add(Thread.ofPlatform().name("load-" + endpoint).start(() -> {
+                    for (long intended = start; intended < end; intended += intervalNanos) {
+                        long wait = intended - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        long scheduledAt = intended;
+                        workers.submit(() -> fire(endpoint, scheduledAt, scheduledAt >= measureFrom ? recorder : null));
+                    }
+                }));
+            }
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+
+            double measuredSeconds = duration.toNanos() / 1e9;
+            List<LatencyRecorder.EndpointReport> endpoints = recorders.values().stream()
+                    .map(recorder -> recorder.report(measuredSeconds))
+                    .toList();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("label", System.getProperty("loadtest.label", "local"));
+            report.put("finishedAt", Instant.now().toString());
+            report.put("javaVersion", Runtime.version().toString());
+            report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            report.put("seededFlights", seedFlights);
+            report.put("warmupSeconds", warmup.toSeconds());
+            report.put("durationSeconds", duration.toSeconds());
+            report.put("endpoints", endpoints);
+            Path file = writeReport(report);
+
+            printSummary(endpoints, file);
+            for (LatencyRecorder.EndpointReport endpoint : endpoints) {
+                assertThat(endpoint.errors())
+                        .as("errors on %s", endpoint.endpoint())
+                        .isLessThanOrEqualTo((long) Math.ceil(endpoint.requests() * maxErrorRate));
+            }
+        }
+    }
+
+    private void fire(String endpoint, long scheduledAt, LatencyRecorder recorder) {
+        try {
+            HttpRequest request = switch (endpoint) {
+                case "login" -> post("/auth/login", null, USER_LOGIN);
+                case "list" -> get("/flights?size=50", userToken);
+                case "get" -> get("/flights/" + readableIds.get(
+                        ThreadLocalRandom.current().nextInt(readableIds.size())), userToken);
+                case "create" -> post("/flights", adminToken, objectMapper.writeValueAsString(
+                        newFlight("LC", createdFlights.getAndIncrement())));
+                case "delete" -> {
+                    Long id = deletableIds.poll();
+                    yield id == null ? null : delete("/flights/" + id, adminToken);
+                }
+                default -> throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+            };
+            if (request == null) {
+                return;
+            }
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - scheduledAt;
+
+            if (endpoint.equals("create") && response.statusCode() == 201) {
+                Matcher id = ID.matcher(response.body());
+                if (id.find()) {
+                    deletableIds.add(Long.parseLong(id.group(1)));
+                }
+            }
+            if (recorder != null) {
+                recorder.record(latency);
+                recorder.status(response.statusCode(), response.statusCode() < 400);
+            }
+        } catch (Exception e) {
+            if (recorder != null) {
+                recorder.error();
+            }
+        }
+    }
+
+    /**
+     * Inserts the seed flights through the bulk path. The last tenth is reserved for the
+     * delete stream, so reads never race a delete of the same flight.
+     */
+    private void seed(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int offset = 0; offset < count; offset += SEED_BATCH) {
+            List<FlightRequest> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = offset; i < Math.min(count, offset + SEED_BATCH); i++) {
+                batch.add(newFlight("SD", i));
+            }
+            BulkFlightResponse response = flightService.createFlights(batch);
+            response.getResults().stream()
+                    .map(BulkFlightResult::getId)
+                    .forEach(ids::add);
+        }
+
+        int reserved = ids.size() / 10;
+        readableIds.addAll(ids.subList(0, ids.size() - reserved));
+        deletableIds.addAll(ids.subList(ids.size() - reserved, ids.size()));
+    }
+
+    private static FlightRequest newFlight(String carrierCode, int sequence) {
+        return FlightRequest.builder()
+                .carrierCode(carrierCode)
+                .flightNumber(String.format("%04d", sequence % 10_000))
+                .flightDate(LocalDate.of(2030, 1, 1).plusDays(sequence / 10_000))
+                .origin("JFK")
+                .destination("LAX")
+                .build();
+    }
+
+    private String login(String credentials) throws Exception {
+        HttpResponse<String> response = client.send(post("/auth/login", null, credentials),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher token = TOKEN.matcher(response.body());
+        assertThat(token.find()).as("login response: %s", response.body()).isTrue();
+        return token.group(1);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest delete(String path, String token) {
+        return request(path, token).DELETE().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Path writeReport(Map<String, Object> report) throws Exception {
+        Path directory = Path.of("target", "loadtest");
+        Files.createDirectories(directory);
+        Path file = directory.resolve("report-" + report.get("label") + "-" + System.currentTimeMillis() + ".json");
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private static void printSummary(List<LatencyRecorder.EndpointReport> endpoints, Path file) {
+        System.out.printf("%n%-8s %8s %10s %9s %9s %9s %9s %7s%n",
+                "endpoint", "target/s", "requests", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for (LatencyRecorder.EndpointReport endpoint : endpoints) {
+            System.out.printf("%-8s %8.0f %10d %9.1f %9.1f %9.1f %9.1f %7d%n",
+                    endpoint.endpoint(), endpoint.targetRate(), endpoint.requests(),
+                    endpoint.latencyMillis().p50(), endpoint.latencyMillis().p95(),
+                    endpoint.latencyMillis().p99(), endpoint.latencyMillis().max(), endpoint.errors());
+        }
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+
+    private static Map<String, Double> parseRates(String rates) {
+        Map<String, Double> parsed = new LinkedHashMap<>();
+        for (String entry : rates.split(",")) {
+            String[] parts = entry.trim().split("=");
+            parsed.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+        }
+        return parsed;
+    }
+}
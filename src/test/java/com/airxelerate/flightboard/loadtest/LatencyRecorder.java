@@ -0,0 +1,85 @@
+package com.airxelerate.flightboard.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and status codes recorded for one endpoint during the measured window.
+ */
+class LatencyRecorder {
+
+    private final String endpoint;
+    private final double targetRate;
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private long[] latencies = new long[4096];
+    private int count;
+
+    LatencyRecorder(String endpoint, double targetRate) {
+        this.endpoint = endpoint;
+        this.targetRate = targetRate;
+    }
+
+    synchronized void record(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+    }
+
+    void status(int statusCode, boolean success) {
+        statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void error() {
+        status(0, false);
+    }
+
+    synchronized EndpointReport report(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+
+        Map<String, Long> codes = new TreeMap<>();
+        statusCodes.forEach((code, adder) -> codes.put(code == 0 ? "io-error" : String.valueOf(code), adder.sum()));
+
+        return new EndpointReport(
+                endpoint,
+                targetRate,
+                sorted.length,
+                errors.sum(),
+                sorted.length / measuredSeconds,
+                new Percentiles(
+                        percentileMillis(sorted, 0.50),
+                        percentileMillis(sorted, 0.95),
+                        percentileMillis(sorted, 0.99),
+                        percentileMillis(sorted, 1.0)),
+                codes);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    record EndpointReport(
+            String endpoint,
+            double targetRate,
+            long requests,
+            long errors,
+            double throughput,
+            Percentiles latencyMillis,
+            Map<String, Long> statusCodes) {
+    }
+
+    record Percentiles(double p50, double p95, double p99, double max) {
+    }
+}
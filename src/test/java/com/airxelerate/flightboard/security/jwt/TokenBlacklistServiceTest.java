@@ -0,0 +1,150 @@
+package com.airxelerate.flightboard.security.jwt;
+
+import com.airxelerate.flightboard.security.jwt.TokenBlacklistService.Revocation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the sweep with explicit clock readings instead of waiting for slots to elapse.
+ */
+class TokenBlacklistServiceTest {
+
+    private static final long LIFETIME_SECONDS = 3600;
+    private static final long SLOT_SECONDS = 60;
+
+    private final long now = Instant.now().getEpochSecond();
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void revokedTokenIsRejectedUntilItExpiresThenPurgedBySweep() {
+        TokenBlacklistService blacklist = blacklist(true, 1 << 16);
+        long expiresAt = now + 600;
+        when(jwtUtil.verify("revoked")).thenReturn(Optional.of(new VerifiedToken(
+                TokenDigest.of("revoked"), "alice", "ADMIN", Instant.ofEpochSecond(now),
+                Instant.ofEpochSecond(expiresAt))));
+
+        blacklist.blacklistToken("revoked");
+        assertThat(blacklist.isTokenBlacklisted("revoked")).isTrue();
+
+        for (long sweptAt : new long[]{now, expiresAt - 1, expiresAt}) {
+            blacklist.sweepExpired(sweptAt);
+            assertThat(blacklist.isTokenBlacklisted("revoked")).as("swept at expiry%+d", sweptAt - expiresAt).isTrue();
+        }
+
+        // Its slot has fully elapsed
+        blacklist.sweepExpired(expiresAt + SLOT_SECONDS);
+        assertThat(blacklist.isTokenBlacklisted("revoked")).isFalse();
+        assertThat(blacklist.size()).isZero();
+    }
+
+    @Test
+    void ignoresRevocationOfTokensThatNoLongerVerify() {
+        TokenBlacklistService blacklist = blacklist(true, 1 << 16);
+        when(jwtUtil.verify("expired")).thenReturn(Optional.empty());
+
+        blacklist.blacklistToken("expired");
+
+        assertThat(blacklist.size()).isZero();
+    }
+
+    @Test
+    void unrevokedTokensAreNeverReportedRevoked() {
+        // A 64-bit filter saturates, so most lookups get past it to the digest check
+        for (boolean bloomEnabled : new boolean[]{true, false}) {
+            TokenBlacklistService blacklist = blacklist(bloomEnabled, 64);
+            for (int i = 0; i < 200; i++) {
+                revoke(blacklist, "revoked-" + i, now + 600);
+            }
+
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(blacklist.isTokenBlacklisted("other-" + i)).as("other-" + i).isFalse();
+            }
+            if (bloomEnabled) {
+                assertThat(meterRegistry.counter("flightboard.jwt.blacklist.lookups", "result", "miss").count())
+                        .as("Bloom filter false positives").isPositive();
+            }
+            for (int i = 0; i < 200; i++) {
+                assertThat(blacklist.isTokenBlacklisted("revoked-" + i)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void revocationsRacingASweepAreKept() throws Exception {
+        TokenBlacklistService blacklist = blacklist(true, 1 << 16);
+        int writers = 4;
+        int perWriter = 100;
+        int shortLived = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            long clock = now;
+            List<String> kept = new ArrayList<>();
+            for (int round = 0; round < 10; round++, clock += 2 * SLOT_SECONDS) {
+                // More expire than stay live, so sweeps also rebuild the Bloom filter
+                for (int i = 0; i < shortLived; i++) {
+                    revoke(blacklist, "short-" + round + "-" + i, clock + 1);
+                }
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> tasks = new ArrayList<>();
+                long sweptAt = clock + 2 * SLOT_SECONDS;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    blacklist.sweepExpired(sweptAt);
+                    return null;
+                }));
+                for (int writer = 0; writer < writers; writer++) {
+                    String prefix = "kept-" + round + "-" + writer + "-";
+                    for (int i = 0; i < perWriter; i++) {
+                        kept.add(prefix + i);
+                    }
+                    long expiresAt = clock + LIFETIME_SECONDS - SLOT_SECONDS;
+                    tasks.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < perWriter; i++) {
+                            revoke(blacklist, prefix + i, expiresAt);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+
+                for (int i = 0; i < shortLived; i++) {
+                    assertThat(blacklist.isTokenBlacklisted("short-" + round + "-" + i)).isFalse();
+                }
+                for (String token : kept) {
+                    assertThat(blacklist.isTokenBlacklisted(token)).as(token).isTrue();
+                }
+                assertThat(blacklist.size()).isEqualTo(kept.size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TokenBlacklistService blacklist(boolean bloomEnabled, int bloomBits) {
+        return new TokenBlacklistService(jwtUtil, Optional.empty(), 10000, LIFETIME_SECONDS * 1000, SLOT_SECONDS,
+                bloomEnabled, bloomBits, 7, meterRegistry);
+    }
+
+    private static void revoke(TokenBlacklistService blacklist, String token, long expiresAtEpochSecond) {
+        blacklist.add(new Revocation(TokenDigest.of(token), expiresAtEpochSecond, TokenBloomFilter.hash(token)));
+    }
+}
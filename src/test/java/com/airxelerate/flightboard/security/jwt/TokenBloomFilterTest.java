@@ -0,0 +1,50 @@
+package com.airxelerate.flightboard.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class TokenBloomFilterTest {
+
+    @Test
+    void hasNoFalseNegativesUnderConcurrentAdds() {
+        TokenBloomFilter filter = new TokenBloomFilter(1 << 16, 7);
+
+        IntStream.range(0, 5000).parallel().forEach(i -> filter.add(TokenBloomFilter.hash("token-" + i)));
+
+        for (int i = 0; i < 5000; i++) {
+            assertThat(filter.mightContain(TokenBloomFilter.hash("token-" + i))).as("token-" + i).isTrue();
+        }
+    }
+
+    @Test
+    void rejectsMostAbsentTokens() {
+        TokenBloomFilter filter = new TokenBloomFilter(1 << 16, 7);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(TokenBloomFilter.hash("token-" + i));
+        }
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(TokenBloomFilter.hash("other-" + i)))
+                .count();
+
+        // About 1 in 10 million expected at this load
+        assertThat(falsePositives).isLessThan(10);
+    }
+
+    @Test
+    void hashDependsOnEveryCharacter() {
+        assertThat(TokenBloomFilter.hash("abc.def.ghi")).isNotEqualTo(TokenBloomFilter.hash("abc.def.ghj"));
+        assertThat(TokenBloomFilter.hash("abc.def.ghi")).isNotEqualTo(TokenBloomFilter.hash("bbc.def.ghi"));
+        assertThat(TokenBloomFilter.hash("abc.def.ghi")).isEqualTo(TokenBloomFilter.hash(new StringBuilder("abc.def.ghi")));
+    }
+
+    @Test
+    void rejectsSizesThatAreNotAPowerOfTwo() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new TokenBloomFilter(1000, 7));
+        assertThatIllegalArgumentException().isThrownBy(() -> new TokenBloomFilter(32, 7));
+    }
+}
@@ -0,0 +1,174 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.request.FlightRequest;
+import com.airxelerate.flightboard.dto.response.BulkFlightResponse;
+import com.airxelerate.flightboard.dto.response.BulkFlightResult;
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.exception.DuplicateFlightException;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs bulk create against an embedded H2 database. A second connection, outside the
+ * service's transaction, plays another request inserting the same flights concurrently.
+ */
+class FlightServiceBulkCreateTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private JdbcTemplate concurrentClient;
+    private FlightJdbcRepository flightJdbcRepository;
+    private FlightService flightService;
+    private final List<FlightsCreatedEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:h2:mem:bulk-create-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE flights (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "carrier_code VARCHAR(2) NOT NULL, flight_number VARCHAR(4) NOT NULL, flight_date DATE NOT NULL, "
+                + "origin VARCHAR(3) NOT NULL, destination VARCHAR(3) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, "
+                + "UNIQUE (carrier_code, flight_number, flight_date))");
+        // A separate DataSource is never bound to the service's transaction
+        concurrentClient = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(mock(org.hibernate.Cache.class));
+
+        flightJdbcRepository = spy(new FlightJdbcRepository(jdbc, entityManagerFactory));
+        ReflectionTestUtils.setField(flightJdbcRepository, "batchSize", 500);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        flightService = new FlightService(null, null, flightJdbcRepository, null,
+                event -> events.add((FlightsCreatedEvent) event), null, null,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate);
+        ReflectionTestUtils.setField(flightService, "maxBulkItems", 10000);
+    }
+
+    @Test
+    void reportsInvalidRepeatedAndExistingFlights() {
+        insertConcurrently("AA", "0002");
+
+        BulkFlightResponse response = flightService.createFlights(List.of(
+                request("AA", "0001"),
+                request("AA", "0002"),
+                request("AA", "0001"),
+                request("A1", "0003")));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getDuplicates()).isEqualTo(2);
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BulkFlightResult::getStatus).containsExactly(
+                BulkFlightResult.Status.CREATED,
+                BulkFlightResult.Status.DUPLICATE,
+                BulkFlightResult.Status.DUPLICATE,
+                BulkFlightResult.Status.INVALID);
+        assertThat(response.getResults().get(0).getId()).isEqualTo(idOf("AA", "0001"));
+    }
+
+    @Test
+    void retriesWhenAConcurrentCreateTakesAKeyAfterTheLookup() {
+        List<String> concurrentNumbers = new ArrayList<>(List.of("0002"));
+        insertAfterEachLookup(concurrentNumbers);
+
+        BulkFlightResponse response = flightService.createFlights(List.of(
+                request("AA", "0001"),
+                request("AA", "0002"),
+                request("AA", "0003")));
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getDuplicates()).isEqualTo(1);
+        assertThat(response.getResults())
+                .extracting(BulkFlightResult::getStatus, BulkFlightResult::getMessage)
+                .containsExactly(
+                        tuple(BulkFlightResult.Status.CREATED, null),
+                        tuple(BulkFlightResult.Status.DUPLICATE, "Flight AA0002 on 2025-03-10 already exists"),
+                        tuple(BulkFlightResult.Status.CREATED, null));
+        assertThat(response.getResults().get(0).getId()).isEqualTo(idOf("AA", "0001"));
+        assertThat(response.getResults().get(2).getId()).isEqualTo(idOf("AA", "0003"));
+        assertThat(count()).isEqualTo(3);
+
+        // The rolled-back attempt published nothing
+        assertThat(events).singleElement().satisfies(event -> assertThat(event.flights())
+                .extracting(FlightResponse::getFlightNumber).containsExactly("0001", "0003"));
+    }
+
+    @Test
+    void conflictOnTheRetryIsReportedAsDuplicate() {
+        List<String> concurrentNumbers = new ArrayList<>(List.of("0001", "0002"));
+        insertAfterEachLookup(concurrentNumbers);
+
+        assertThatThrownBy(() -> flightService.createFlights(List.of(request("AA", "0001"), request("AA", "0002"))))
+                .isInstanceOf(DuplicateFlightException.class);
+
+        assertThat(count()).isEqualTo(2);
+        assertThat(events).isEmpty();
+    }
+
+    /**
+     * After each existence check, another client commits the next flight number from
+     * {@code numbers}, so the service's insert that follows runs into it.
+     */
+    private void insertAfterEachLookup(List<String> numbers) {
+        doAnswer(invocation -> {
+            Object existing = invocation.callRealMethod();
+            if (!numbers.isEmpty()) {
+                insertConcurrently("AA", numbers.removeFirst());
+            }
+            return existing;
+        }).when(flightJdbcRepository).findExistingKeys(any(Collection.class));
+    }
+
+    private void insertConcurrently(String carrierCode, String flightNumber) {
+        concurrentClient.update("INSERT INTO flights (carrier_code, flight_number, flight_date, origin, destination, "
+                + "created_at) VALUES (?, ?, ?, 'CDG', 'FRA', ?)", carrierCode, flightNumber, DAY, LocalDateTime.now());
+    }
+
+    private Long idOf(String carrierCode, String flightNumber) {
+        return concurrentClient.queryForObject("SELECT id FROM flights WHERE carrier_code = ? AND flight_number = ?",
+                Long.class, carrierCode, flightNumber);
+    }
+
+    private int count() {
+        return concurrentClient.queryForObject("SELECT COUNT(*) FROM flights", Integer.class);
+    }
+
+    private static FlightRequest request(String carrierCode, String flightNumber) {
+        return FlightRequest.builder()
+                .carrierCode(carrierCode)
+                .flightNumber(flightNumber)
+                .flightDate(DAY)
+                .origin("JFK")
+                .destination("LAX")
+                .build();
+    }
+}
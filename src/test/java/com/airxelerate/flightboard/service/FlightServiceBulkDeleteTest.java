@@ -0,0 +1,155 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.request.BulkDeleteRequest;
+import com.airxelerate.flightboard.dto.response.BulkDeleteResponse;
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the criteria path of bulk delete against an embedded H2 database, with a chunk
+ * size small enough that every request spans several chunks and keyset pages.
+ */
+class FlightServiceBulkDeleteTest {
+
+    private static final int CHUNK_SIZE = 3;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private JdbcTemplate jdbc;
+    private FlightService flightService;
+    private final List<FlightsDeletedEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bulk-delete-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE flights (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "carrier_code VARCHAR(2) NOT NULL, flight_number VARCHAR(4) NOT NULL, flight_date DATE NOT NULL, "
+                + "origin VARCHAR(3) NOT NULL, destination VARCHAR(3) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, "
+                + "UNIQUE (carrier_code, flight_number, flight_date))");
+        jdbc.execute("CREATE INDEX idx_flights_keyset ON flights (flight_date, carrier_code, flight_number, id)");
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(mock(org.hibernate.Cache.class));
+
+        FlightJdbcRepository flightJdbcRepository = new FlightJdbcRepository(jdbc, entityManagerFactory);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        flightService = new FlightService(null, null, flightJdbcRepository, null,
+                event -> events.add((FlightsDeletedEvent) event), null, null, null, transactionTemplate);
+        ReflectionTestUtils.setField(flightService, "deleteChunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(flightService, "maxBulkItems", 10000);
+    }
+
+    @Test
+    void deletesMatchingCarrierAndRangeAcrossChunks() {
+        // Inserted out of keyset order so pages cannot follow id order by accident
+        for (int number = 7; number >= 1; number--) {
+            insert("AF", number, DAY);
+            insert("AF", number, DAY.plusDays(1));
+            insert("LH", number, DAY);
+        }
+        insert("AF", 1, DAY.minusDays(1));
+        insert("AF", 1, DAY.plusDays(2));
+
+        BulkDeleteResponse response = flightService.deleteFlights(BulkDeleteRequest.builder()
+                .carrierCode("AF")
+                .from(DAY)
+                .to(DAY.plusDays(1))
+                .build());
+
+        assertThat(response.getDeleted()).isEqualTo(14);
+        assertThat(response.getChunks()).isEqualTo(5);
+        assertThat(count("carrier_code = 'AF'")).isEqualTo(2);
+        assertThat(count("carrier_code = 'LH'")).isEqualTo(7);
+
+        List<FlightResponse> removed = events.stream().flatMap(event -> event.flights().stream()).toList();
+        assertThat(removed).hasSize(14)
+                .allSatisfy(flight -> {
+                    assertThat(flight.getCarrierCode()).isEqualTo("AF");
+                    assertThat(flight.getFlightDate()).isBetween(DAY, DAY.plusDays(1));
+                });
+        assertThat(removed).extracting(FlightResponse::getId).doesNotHaveDuplicates();
+        assertThat(events).allSatisfy(event -> assertThat(event.flights()).hasSizeLessThanOrEqualTo(CHUNK_SIZE));
+    }
+
+    @Test
+    void deletesEverythingDepartingBeforeDate() {
+        for (int day = 0; day < 5; day++) {
+            insert("AF", 1, DAY.plusDays(day));
+            insert("LH", 2, DAY.plusDays(day));
+        }
+
+        BulkDeleteResponse response = flightService.deleteFlights(BulkDeleteRequest.builder()
+                .before(DAY.plusDays(3))
+                .build());
+
+        assertThat(response.getDeleted()).isEqualTo(6);
+        assertThat(count("flight_date < '" + DAY.plusDays(3) + "'")).isZero();
+        assertThat(count("1 = 1")).isEqualTo(4);
+    }
+
+    @Test
+    void exactMultipleOfChunkSizeEndsWithEmptyPage() {
+        for (int number = 1; number <= CHUNK_SIZE * 2; number++) {
+            insert("AF", number, DAY);
+        }
+
+        BulkDeleteResponse response = flightService.deleteFlights(BulkDeleteRequest.builder()
+                .from(DAY)
+                .to(DAY)
+                .build());
+
+        assertThat(response.getDeleted()).isEqualTo(CHUNK_SIZE * 2);
+        assertThat(response.getChunks()).isEqualTo(2);
+        assertThat(count("1 = 1")).isZero();
+    }
+
+    @Test
+    void noMatchDeletesNothing() {
+        insert("AF", 1, DAY);
+
+        BulkDeleteResponse response = flightService.deleteFlights(BulkDeleteRequest.builder()
+                .carrierCode("LH")
+                .from(DAY)
+                .to(DAY)
+                .build());
+
+        assertThat(response.getDeleted()).isZero();
+        assertThat(response.getChunks()).isZero();
+        assertThat(events).isEmpty();
+        assertThat(count("1 = 1")).isEqualTo(1);
+    }
+
+    private void insert(String carrierCode, int number, LocalDate date) {
+        jdbc.update("INSERT INTO flights (carrier_code, flight_number, flight_date, origin, destination, created_at) "
+                        + "VALUES (?, ?, ?, 'CDG', 'FRA', ?)",
+                carrierCode, String.format("%04d", number), date, LocalDateTime.now());
+    }
+
+    private int count(String condition) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM flights WHERE " + condition, Integer.class);
+    }
+}
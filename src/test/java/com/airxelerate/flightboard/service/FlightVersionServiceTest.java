@@ -0,0 +1,114 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.response.FlightResponse;
+import com.airxelerate.flightboard.event.FlightsCreatedEvent;
+import com.airxelerate.flightboard.event.FlightsDeletedEvent;
+import com.airxelerate.flightboard.repository.FlightJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the table version against an embedded H2 database in MySQL mode. The
+ * before-commit listeners are called directly from inside the writing transaction, as
+ * Spring would call them.
+ */
+class FlightVersionServiceTest {
+
+    private FlightJdbcRepository flightJdbcRepository;
+    private TransactionTemplate transactionTemplate;
+    private FlightVersionService versionService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:table-version-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE flight_table_version (id BIGINT PRIMARY KEY, version BIGINT NOT NULL)");
+
+        flightJdbcRepository = new FlightJdbcRepository(jdbc, null);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        versionService = new FlightVersionService(flightJdbcRepository, 100);
+    }
+
+    @Test
+    void committedWritesAdvanceTheVersionAfterCommit() {
+        versionService.afterSingletonsInstantiated();
+        assertThat(versionService.latestVersion()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            versionService.beforeFlightsCreated(new FlightsCreatedEvent(List.of(flight(1))));
+            assertThat(versionService.latestVersion()).as("before commit").isZero();
+        });
+        assertThat(versionService.latestVersion()).isEqualTo(1);
+
+        transactionTemplate.executeWithoutResult(status ->
+                versionService.beforeFlightsDeleted(new FlightsDeletedEvent(List.of(flight(1)))));
+        assertThat(versionService.latestVersion()).isEqualTo(2);
+        assertThat(flightJdbcRepository.findTableVersion()).isEqualTo(2);
+        assertThat(versionService.listingTag()).isEqualTo("\"flights-2\"");
+    }
+
+    @Test
+    void rolledBackWritesLeaveTheVersionAlone() {
+        transactionTemplate.executeWithoutResult(status ->
+                versionService.beforeFlightsCreated(new FlightsCreatedEvent(List.of(flight(1)))));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            versionService.beforeFlightsCreated(new FlightsCreatedEvent(List.of(flight(2))));
+            status.setRollbackOnly();
+        });
+
+        assertThat(versionService.latestVersion()).isEqualTo(1);
+        assertThat(flightJdbcRepository.findTableVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void loadsTheCommittedVersionOnStartup() {
+        transactionTemplate.executeWithoutResult(status -> flightJdbcRepository.incrementTableVersion());
+        transactionTemplate.executeWithoutResult(status -> flightJdbcRepository.incrementTableVersion());
+
+        FlightVersionService restarted = new FlightVersionService(flightJdbcRepository, 100);
+        restarted.afterSingletonsInstantiated();
+
+        assertThat(restarted.latestVersion()).isEqualTo(2);
+        assertThat(restarted.listingTag(1)).isEqualTo("\"flights-1\"");
+    }
+
+    @Test
+    void remembersFlightTagsOnlyFromCommittedEvents() {
+        FlightResponse flight = flight(7);
+
+        String tag = versionService.flightTag(flight);
+        assertThat(versionService.knownFlightTag(7L)).as("served, possibly from a replica").isNull();
+
+        versionService.onFlightsCreated(new FlightsCreatedEvent(List.of(flight)));
+        assertThat(versionService.knownFlightTag(7L)).isEqualTo(tag);
+
+        versionService.onFlightsDeleted(new FlightsDeletedEvent(List.of(flight)));
+        assertThat(versionService.knownFlightTag(7L)).isNull();
+    }
+
+    private static FlightResponse flight(long id) {
+        return FlightResponse.builder()
+                .id(id)
+                .carrierCode("AA")
+                .flightNumber("0001")
+                .flightDate(LocalDate.of(2025, 1, 20))
+                .origin("JFK")
+                .destination("LAX")
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000))
+                .build();
+    }
+}
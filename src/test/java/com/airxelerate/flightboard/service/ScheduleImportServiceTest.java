@@ -0,0 +1,125 @@
+package com.airxelerate.flightboard.service;
+
+import com.airxelerate.flightboard.dto.response.ImportRejection;
+import com.airxelerate.flightboard.dto.response.ImportStatusResponse;
+import com.airxelerate.flightboard.model.Flight;
+import com.airxelerate.flightboard.model.FlightKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Imports files end to end against a stand-in for the flights table, which already holds
+ * {@code AA0002} on 2025-01-20.
+ */
+class ScheduleImportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 20);
+
+    private final Set<FlightKey> table = ConcurrentHashMap.newKeySet();
+    private ScheduleImportService importService;
+
+    @AfterEach
+    void tearDown() {
+        if (importService != null) {
+            importService.shutdown();
+        }
+    }
+
+    @Test
+    void reportsDuplicatesWithinFileAndAgainstExistingRows() throws InterruptedException {
+        importService = importService(1024 * 1024);
+
+        ImportStatusResponse status = importAndWait("""
+                carrierCode,flightNumber,flightDate,origin,destination
+                AA,0001,2025-01-20,JFK,LAX
+                AA,0002,2025-01-20,JFK,LAX
+                AA,0001,2025-01-20,JFK,SFO
+                AA,0003,2025-01-20,JFK,LAX
+                """);
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getLines()).isEqualTo(5);
+        assertThat(status.getCreated()).isEqualTo(2);
+        assertThat(status.getDuplicates()).isEqualTo(2);
+        assertThat(status.getRejected()).isZero();
+        assertThat(status.getRejections())
+                .extracting(ImportRejection::getLine, ImportRejection::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple(4L, "Flight AA0001 on 2025-01-20 appears more than once in the file"),
+                        tuple(3L, "Flight AA0002 on 2025-01-20 already exists"));
+        assertThat(table).contains(new FlightKey("AA", "0001", DAY), new FlightKey("AA", "0003", DAY));
+    }
+
+    @Test
+    void reportsAbsoluteLineNumbersAcrossChunks() throws InterruptedException {
+        // About two lines per chunk
+        importService = importService(40);
+
+        ImportStatusResponse status = importAndWait("carrierCode,flightNumber,flightDate,origin,destination\r\n"
+                + "AA,0001,2025-01-20,JFK,LAX\r\n"
+                + "# comment\r\n"
+                + "AA,0004,2025-02-30,JFK,LAX\r\n"
+                + "AA,0005,2025-01-20,JFK,LAX\r\n"
+                + "\r\n"
+                + "AA,0006,2025-01-20,JFK\r\n"
+                + "AA,0002,2025-01-20,JFK,LAX\r\n"
+                + "AA,0007,2025-01-20,JFK,LAX");
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getLines()).isEqualTo(9);
+        assertThat(status.getCreated()).isEqualTo(3);
+        assertThat(status.getRejected()).isEqualTo(2);
+        assertThat(status.getDuplicates()).isEqualTo(1);
+        assertThat(status.getRejections())
+                .extracting(ImportRejection::getLine)
+                .containsExactlyInAnyOrder(4L, 7L, 8L);
+        assertThat(status.getProgress()).isEqualTo(1d);
+    }
+
+    private ScheduleImportService importService(int chunkBytes) {
+        table.add(new FlightKey("AA", "0002", DAY));
+
+        FlightService flightService = mock(FlightService.class);
+        when(flightService.createValidatedFlights(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            Set<FlightKey> existing = new HashSet<>();
+            for (Flight flight : flights) {
+                FlightKey key = new FlightKey(flight.getCarrierCode(), flight.getFlightNumber(), flight.getFlightDate());
+                if (!table.add(key)) {
+                    existing.add(key);
+                }
+            }
+            return existing;
+        });
+        return new ScheduleImportService(flightService, chunkBytes, 2, 1000, 10);
+    }
+
+    private ImportStatusResponse importAndWait(String content) throws InterruptedException {
+        MockMultipartFile file = new MockMultipartFile("file", "schedule.csv", "text/csv",
+                content.getBytes(StandardCharsets.US_ASCII));
+        String id = importService.startImport(file, "csv").getId();
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        ImportStatusResponse status = importService.getStatus(id);
+        while (!status.getStatus().equals("COMPLETED") && !status.getStatus().equals("FAILED")) {
+            assertThat(System.nanoTime()).as("import finished in time").isLessThan(deadline);
+            Thread.sleep(20);
+            status = importService.getStatus(id);
+        }
+        return status;
+    }
+}